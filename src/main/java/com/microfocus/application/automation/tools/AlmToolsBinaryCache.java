@@ -0,0 +1,190 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the tool binaries bundled in the plugin (HpToolsLauncher.exe, LRAnalysisLauncher.exe, HpToolsAborter.exe) on the build nodes.
+ * Each binary is transferred to a node once per content digest, and the copy in the workspace is a hard link to the cached file
+ * (or a local copy, if linking is not possible).
+ * Binaries are cached in {@code <node root>/alm-tools-cache/<binary name>/<digest>/}, and digests of other plugin versions are pruned
+ * when a new one is cached.
+ */
+public class AlmToolsBinaryCache {
+    private static final String CACHE_DIR_NAME = "alm-tools-cache";
+
+    private static final Map<String, String> digestByResource = new ConcurrentHashMap<>();
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
+
+    private AlmToolsBinaryCache() {
+    }
+
+    /**
+     * Place the bundled binary in target file, transferring it to the node only if the node does not have it cached yet
+     *
+     * @param resource URL of the binary in plugin resources
+     * @param target   file to create, usually in the build workspace
+     */
+    public static void copyTo(URL resource, FilePath target) throws IOException, InterruptedException {
+        FilePath cacheDir = getCacheDir(target);
+        if (cacheDir == null) {
+            target.copyFrom(resource);
+            return;
+        }
+
+        FilePath binaryDir = cacheDir.child(target.getName());
+        FilePath digestDir = binaryDir.child(getDigest(resource));
+        FilePath cachedFile = digestDir.child(target.getName());
+        if (cachedFile.exists()) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+            digestDir.mkdirs();
+            FilePath tempFile = digestDir.createTempFile(target.getName(), ".tmp");
+            try {
+                tempFile.copyFrom(resource);
+                try {
+                    tempFile.renameTo(cachedFile);
+                } catch (IOException e) {
+                    //another build on this node cached the same binary meanwhile
+                    if (!cachedFile.exists()) {
+                        throw e;
+                    }
+                }
+            } finally {
+                if (tempFile.exists()) {
+                    tempFile.delete();
+                }
+            }
+            pruneOtherDigests(binaryDir, digestDir.getName());
+        }
+
+        if (!target.act(new LinkToCachedFileCallable(cachedFile.getRemote()))) {
+            target.copyFrom(resource);
+        }
+    }
+
+    /**
+     * binaries cached by previous versions of the plugin are not used anymore
+     */
+    private static void pruneOtherDigests(FilePath binaryDir, String digest) throws InterruptedException {
+        try {
+            for (FilePath digestDir : binaryDir.listDirectories()) {
+                if (!digestDir.getName().equals(digest)) {
+                    digestDir.deleteRecursive();
+                }
+            }
+        } catch (IOException e) {
+            //binary that is still in use can't be deleted on Windows, it is pruned with the next version
+        }
+    }
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private static FilePath getCacheDir(FilePath target) {
+        Computer computer = target.toComputer();
+        Node node = computer != null ? computer.getNode() : null;
+        FilePath rootPath = node != null ? node.getRootPath() : null;
+        return rootPath != null ? rootPath.child(CACHE_DIR_NAME) : null;
+    }
+
+    private static String getDigest(URL resource) throws IOException {
+        String digest = digestByResource.get(resource.toExternalForm());
+        if (digest == null) {
+            try (InputStream is = resource.openStream()) {
+                digest = DigestUtils.sha256Hex(is);
+            }
+            digestByResource.put(resource.toExternalForm(), digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Returns false if the workspace file could not be replaced, so the binary is copied to the workspace instead
+     */
+    private static final class LinkToCachedFileCallable extends MasterToSlaveFileCallable<Boolean> {
+        private final String cachedFile;
+
+        private LinkToCachedFileCallable(String cachedFile) {
+            this.cachedFile = cachedFile;
+        }
+
+        @Override
+        public Boolean invoke(File target, VirtualChannel channel) {
+            Path source = new File(cachedFile).toPath();
+            Path link = target.toPath();
+            try {
+                //already linked by previous build, the binary might be running in another workspace,
+                //and on Windows a running binary can't be deleted through any of its links
+                if (Files.exists(link) && Files.isSameFile(link, source)) {
+                    return true;
+                }
+                Files.deleteIfExists(link);
+            } catch (IOException e) {
+                return false;
+            }
+
+            try {
+                Files.createLink(link, source);
+            } catch (IOException | UnsupportedOperationException e) {
+                //cache and workspace on different volumes - copy locally on the node
+                try {
+                    Files.copy(source, link, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException copyFailure) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -109,7 +109,7 @@ public class AlmToolsUtils {
         args.add(hpToolsAborterFile);
         args.add(paramFileName);
         
-        hpToolsAborterFile.copyFrom(hpToolsAborterUrl);
+        AlmToolsBinaryCache.copyTo(hpToolsAborterUrl, hpToolsAborterFile);
         
         int returnCode = launcher.launch().cmds(args).stdout(out).pwd(hpToolsAborterFile.getParent()).join();
         
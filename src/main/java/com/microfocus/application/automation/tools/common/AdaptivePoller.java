@@ -0,0 +1,156 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.common;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes the delay between two polls of a remote run (ALM, LoadRunner Enterprise).
+ * <ul>
+ * <li>after a state change the delay is reset to the base interval, since more changes usually follow;</li>
+ * <li>while the state stays the same the delay grows gradually up to the maximal interval;</li>
+ * <li>after a failed poll the delay backs off exponentially, with jitter so that many jobs
+ * polling the same server do not retry in lock step.</li>
+ * </ul>
+ * Global counters of the polling loops are kept for monitoring.
+ * A poller is meant to be used by a single polling loop and closed when the loop is done.
+ */
+public class AdaptivePoller implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_FACTOR = 4;
+    private static final double STEADY_STATE_GROWTH = 1.5;
+
+    private static final AtomicInteger ACTIVE_POLLERS = new AtomicInteger();
+    private static final AtomicLong TOTAL_POLLS = new AtomicLong();
+    private static final AtomicLong FAILED_POLLS = new AtomicLong();
+
+    private final long baseInterval;
+    private final long maxInterval;
+    private long currentInterval;
+    private int consecutiveFailures;
+    private boolean closed;
+
+    /**
+     * @param baseInterval the delay used right after a state change, in milliseconds
+     * @param maxInterval  the longest delay between two polls, in milliseconds
+     */
+    public AdaptivePoller(long baseInterval, long maxInterval) {
+        this.baseInterval = Math.max(0, baseInterval);
+        this.maxInterval = Math.max(this.baseInterval, maxInterval);
+        this.currentInterval = this.baseInterval;
+        ACTIVE_POLLERS.incrementAndGet();
+    }
+
+    /**
+     * Creates a poller which may slow down to four times the base interval.
+     */
+    public AdaptivePoller(long baseInterval) {
+        this(baseInterval, baseInterval * DEFAULT_MAX_FACTOR);
+    }
+
+    /**
+     * Records a successful poll.
+     *
+     * @param stateChanged whether the polled run changed since the previous poll
+     * @return the delay before the next poll, in milliseconds
+     */
+    public long onSuccess(boolean stateChanged) {
+        TOTAL_POLLS.incrementAndGet();
+        consecutiveFailures = 0;
+        if (stateChanged) {
+            currentInterval = baseInterval;
+        } else {
+            currentInterval = Math.min(maxInterval, (long) (currentInterval * STEADY_STATE_GROWTH));
+        }
+        return currentInterval;
+    }
+
+    /**
+     * Records a failed poll.
+     *
+     * @return the delay before the next poll, in milliseconds
+     */
+    public long onFailure() {
+        TOTAL_POLLS.incrementAndGet();
+        FAILED_POLLS.incrementAndGet();
+        consecutiveFailures++;
+        long backoff = baseInterval << Math.min(consecutiveFailures - 1, 16);
+        backoff = Math.min(maxInterval, backoff);
+        // full jitter on the upper half of the backoff
+        long half = backoff / 2;
+        return half + (half > 0 ? ThreadLocalRandom.current().nextLong(half + 1) : 0);
+    }
+
+    /**
+     * Waits the given delay.
+     *
+     * @throws InterruptedException if the polling thread was interrupted, e.g. the build was aborted
+     */
+    public void await(long delay) throws InterruptedException {
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            ACTIVE_POLLERS.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of polling loops currently running in this JVM
+     */
+    public static int getActivePollers() {
+        return ACTIVE_POLLERS.get();
+    }
+
+    /**
+     * @return the number of polls done since startup
+     */
+    public static long getTotalPolls() {
+        return TOTAL_POLLS.get();
+    }
+
+    /**
+     * @return the number of failed polls since startup
+     */
+    public static long getFailedPolls() {
+        return FAILED_POLLS.get();
+    }
+}
@@ -32,6 +32,7 @@ import com.microfocus.application.automation.tools.results.service.AlmRestTool;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmCommonProperties;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,14 +41,28 @@ import java.util.StringTokenizer;
 public class FolderService {
 
     private static final String FOLDER_SEPERATOR = "\\";
+    private static final String OR = "%20OR%20";
+    private static final int FOLDERS_PER_QUERY = 50;
     private RestService restService;
 
+    // The folder tree doesn't change while results are uploaded (except for the folders created
+    // by the upload itself), so it is resolved once per upload session.
+    private final Map<String, Map<String, String>> pathCache = new HashMap<>();
+    private final Map<String, List<Map<String, String>>> subFoldersCache = new HashMap<>();
+
     public FolderService(RestService restService) {
         this.restService = restService;
     }
 
     public Map<String, String> createOrFindPath(String prefix, String parentId, String path) {
+        String cacheKey = getCacheKey(prefix, parentId, path);
+        Map<String, String> cached = pathCache.get(cacheKey);
+        if (cached != null) {
+            return new HashMap<>(cached);
+        }
+
         List<Map<String, String>> folders = new ArrayList<Map<String, String>>();
+        boolean resolved = true;
         StringTokenizer tokenizer = new StringTokenizer(path, FOLDER_SEPERATOR);
         while (tokenizer.hasMoreTokens()) {
             String itemString = tokenizer.nextToken();
@@ -55,13 +70,16 @@ public class FolderService {
             if (folder != null) {
                 folders.add(folder);
                 parentId = folder.get("id");
+            } else {
+                resolved = false;
             }
         }
-        if (folders.size() > 0) {
-            return folders.get(folders.size() - 1);
-        } else  {
-            return null;
+        Map<String, String> ret = folders.size() > 0 ? folders.get(folders.size() - 1) : null;
+        // failed resolution is not cached, so the next call tries again
+        if (ret != null && resolved) {
+            pathCache.put(cacheKey, new HashMap<>(ret));
         }
+        return ret;
     }
 
     public Map<String, String> createFolder(String prefix, String parentId, String folderName) {
@@ -70,7 +88,12 @@ public class FolderService {
             existsFolder = new HashMap<>();
             existsFolder.put(AlmCommonProperties.PARENT_ID, parentId);
             existsFolder.put(AlmCommonProperties.NAME, folderName);
-            return restService.create(prefix, existsFolder);
+            Map<String, String> created = restService.create(prefix, existsFolder);
+            List<Map<String, String>> cachedSubFolders = subFoldersCache.get(getCacheKey(prefix, parentId));
+            if (created != null && cachedSubFolders != null) {
+                cachedSubFolders.add(created);
+            }
+            return created;
         } else {
             return existsFolder;
         }
@@ -89,8 +112,15 @@ public class FolderService {
     }
 
     public List<Map<String, String>> getSubFolders(String prefix, String parentFolderId) {
-        String query = String.format("fields=id,name&query={parent-id[%s]}", parentFolderId);
-        return restService.get(null, prefix, query);
+        String cacheKey = getCacheKey(prefix, parentFolderId);
+        List<Map<String, String>> subFolders = subFoldersCache.get(cacheKey);
+        if (subFolders == null) {
+            String query = String.format("fields=id,name&query={parent-id[%s]}", parentFolderId);
+            List<Map<String, String>> found = restService.get(null, prefix, query);
+            subFolders = found == null ? new ArrayList<Map<String, String>>() : new ArrayList<>(found);
+            subFoldersCache.put(cacheKey, subFolders);
+        }
+        return subFolders;
     }
 
     public Map<String, String> findEntityInFolder(
@@ -99,7 +129,6 @@ public class FolderService {
             String entityPrefix,
             String folderPrefix,
             String[] queryFields) {
-        List<Map<String, String>> foundTests = new ArrayList<>();
 
         // Make criteria fields.
         test.put(CriteriaTranslator.CRITERIA_PREFIX + AlmCommonProperties.PARENT_ID,
@@ -107,33 +136,73 @@ public class FolderService {
         test.put(CriteriaTranslator.CRITERIA_PREFIX + AlmCommonProperties.NAME,
                 test.get(AlmCommonProperties.NAME));
 
-        findEntityInFolderAndSub(foundTests, test, entityPrefix, folderPrefix, queryFields);
-        return foundTests.size() > 0 ? foundTests.get(0) : null;
-    }
-
-    private void findEntityInFolderAndSub(List<Map<String, String>> foundTests,
-                                          Map<String, String> test, String entityPrefix,
-                                          String folderPrefix, String[] queryFields) {
         List<Map<String, String>> existTests = restService.get(null,
                 entityPrefix, CriteriaTranslator.getCriteriaString(queryFields, test));
+        if (existTests != null && existTests.size() > 0) {
+            return existTests.get(0);
+        }
 
-        if (existTests == null || existTests.size() == 0) {
-            // Not in current folder, find in sub folders
-            List<Map<String, String>> subFolders =
-                    getSubFolders(folderPrefix, test.get(AlmCommonProperties.PARENT_ID));
-
-            if (subFolders != null) {
-                for (Map<String, String> subfolder : subFolders) {
-                    // Make criteria fields.
-                    test.put(CriteriaTranslator.CRITERIA_PREFIX + AlmCommonProperties.PARENT_ID,
-                            subfolder.get(AlmCommonProperties.ID));
-                    test.put(CriteriaTranslator.CRITERIA_PREFIX + AlmCommonProperties.NAME,
-                            test.get(AlmCommonProperties.NAME));
-                    findEntityInFolderAndSub(foundTests, test, entityPrefix, folderPrefix, queryFields);
+        // Not in current folder, find in sub folders
+        return findEntityInSubFolders(testFolder.get(AlmCommonProperties.ID),
+                test.get(AlmCommonProperties.NAME), entityPrefix, folderPrefix, queryFields);
+    }
+
+    /**
+     * Looks for the entity in all the sub folders at once, a few tens of folders per request.
+     * When it exists in several folders, the first one in depth first order is returned.
+     */
+    private Map<String, String> findEntityInSubFolders(String folderId, String name,
+                                                       String entityPrefix, String folderPrefix,
+                                                       String[] queryFields) {
+        List<String> subFolderIds = new ArrayList<>();
+        collectSubFolderIds(folderPrefix, folderId, subFolderIds);
+        if (subFolderIds.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Integer> folderOrder = new HashMap<>();
+        for (int i = 0; i < subFolderIds.size(); i++) {
+            folderOrder.put(subFolderIds.get(i), i);
+        }
+        String[] fields = Arrays.copyOf(queryFields, queryFields.length + 1);
+        fields[queryFields.length] = AlmCommonProperties.PARENT_ID;
+
+        Map<String, String> ret = null;
+        int retOrder = Integer.MAX_VALUE;
+        for (int from = 0; from < subFolderIds.size(); from += FOLDERS_PER_QUERY) {
+            List<String> ids = subFolderIds.subList(from, Math.min(from + FOLDERS_PER_QUERY, subFolderIds.size()));
+            String query = String.format("fields=%s&query={parent-id[%s];name[%s]}",
+                    String.join(",", fields),
+                    String.join(OR, ids),
+                    AlmRestTool.getEncodedString(name));
+            List<Map<String, String>> found = restService.get(null, entityPrefix, query);
+            if (found == null) {
+                continue;
+            }
+            for (Map<String, String> entity : found) {
+                Integer order = folderOrder.get(entity.get(AlmCommonProperties.PARENT_ID));
+                if (order != null && order < retOrder) {
+                    ret = entity;
+                    retOrder = order;
                 }
             }
-        } else {
-            foundTests.addAll(existTests);
+            if (ret != null) {
+                // later chunks only hold folders that come after the ones already searched
+                break;
+            }
         }
+        return ret;
+    }
+
+    private void collectSubFolderIds(String folderPrefix, String folderId, List<String> subFolderIds) {
+        for (Map<String, String> subFolder : getSubFolders(folderPrefix, folderId)) {
+            String subFolderId = subFolder.get(AlmCommonProperties.ID);
+            subFolderIds.add(subFolderId);
+            collectSubFolderIds(folderPrefix, subFolderId, subFolderIds);
+        }
+    }
+
+    private static String getCacheKey(String... parts) {
+        return String.join("|", parts);
     }
 }
@@ -41,6 +41,7 @@ public class HttpUtils {
 
     public static final String POST = "POST";
     public static final String GET = "GET";
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
 
     private HttpUtils() {
 
@@ -58,6 +59,24 @@ public class HttpUtils {
         return response;
     }
 
+    /**
+     * Post content of the stream without buffering it in memory
+     *
+     * @param data       request body
+     * @param dataLength exact length of the request body
+     */
+    public static HttpResponse post(ProxyInfo proxyInfo, String url, Map<String, String> headers, InputStream data, long dataLength) {
+
+        HttpResponse response = null;
+
+        try {
+            response = doHttp(proxyInfo, POST, url, null, headers, data, dataLength);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return response;
+    }
+
     public static HttpResponse get(ProxyInfo proxyInfo, String url, Map<String, String> headers, String queryString) {
 
         HttpResponse response = null;
@@ -71,6 +90,13 @@ public class HttpUtils {
 
 
     private static HttpResponse doHttp(ProxyInfo proxyInfo, String requestMethod, String connectionUrl, String queryString, Map<String, String> headers, byte[] data) throws IOException {
+        if (data != null && data.length > 0) {
+            return doHttp(proxyInfo, requestMethod, connectionUrl, queryString, headers, new ByteArrayInputStream(data), data.length);
+        }
+        return doHttp(proxyInfo, requestMethod, connectionUrl, queryString, headers, null, 0);
+    }
+
+    private static HttpResponse doHttp(ProxyInfo proxyInfo, String requestMethod, String connectionUrl, String queryString, Map<String, String> headers, InputStream data, long dataLength) throws IOException {
         HttpResponse response = new HttpResponse();
 
         if ((queryString != null) && !queryString.isEmpty()) {
@@ -86,11 +112,17 @@ public class HttpUtils {
 
         setConnectionHeaders(connection, headers);
 
-        if (data != null && data.length > 0) {
+        if (data != null && dataLength > 0) {
             connection.setDoOutput(true);
+            //stream the body as it is written, instead of buffering it to compute its length
+            connection.setFixedLengthStreamingMode(dataLength);
             try {
                 OutputStream out = connection.getOutputStream();
-                out.write(data);
+                byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                int read;
+                while ((read = data.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
                 out.flush();
                 out.close();
             } catch (Throwable cause) {
@@ -102,6 +134,7 @@ public class HttpUtils {
 
 
         int responseCode = connection.getResponseCode();
+        response.setResponseCode(responseCode);
 
         if (responseCode == HttpURLConnection.HTTP_OK) {
             InputStream inputStream = connection.getInputStream();
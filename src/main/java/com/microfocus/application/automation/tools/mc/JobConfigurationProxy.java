@@ -32,26 +32,35 @@ import com.microfocus.application.automation.tools.sse.common.StringUtils;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.JSONValue;
+import org.apache.commons.codec.digest.DigestUtils;
 
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * communicate with MC servers, login to MC, upload application to MC server, create job, get job details.
  */
 public class JobConfigurationProxy {
 
+    private static final long SESSION_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
     private static JobConfigurationProxy instance = null;
 
+    //logged in sessions by server, user and proxy, reused until they expire
+    private final Map<String, McSession> sessions = new ConcurrentHashMap<>();
+
     private JobConfigurationProxy() {
     }
 
-    public static JobConfigurationProxy getInstance(){
+    public static synchronized JobConfigurationProxy getInstance(){
         if(instance == null){
             instance = new JobConfigurationProxy();
         }
@@ -122,50 +131,37 @@ public class JobConfigurationProxy {
                              String proxyAddress, String proxyUsername, String proxyPassword, String appPath) throws Exception {
 
         JSONObject json = null;
-        String hp4mSecret = null;
-        String jsessionId = null;
 
         File appFile = new File(appPath);
+        if (!appFile.isFile()) {
+            throw new FileNotFoundException(appPath);
+        }
 
         String uploadUrl = mcUrl + Constants.APP_UPLOAD;
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
         StringBuffer content = new StringBuffer();
         content.append("\r\n").append("------").append(Constants.BOUNDARYSTR).append("\r\n");
         content.append("Content-Disposition: form-data; name=\"file\"; filename=\"" + appFile.getName() + "\"\r\n");
         content.append("Content-Type: application/octet-stream\r\n\r\n");
 
-        outputStream.write(content.toString().getBytes());
-
-        FileInputStream in = new FileInputStream(appFile);
-        byte[] b = new byte[1024];
-        int i = 0;
-        while ((i = in.read(b)) != -1) {
-            outputStream.write(b, 0, i);
-        }
-        in.close();
-
-        outputStream.write(("\r\n------" + Constants.BOUNDARYSTR + "--\r\n").getBytes());
-
-        byte[] bytes = outputStream.toByteArray();
-
-        outputStream.close();
-
-        JSONObject loginJson = loginToMC(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword);
-
-        if (loginJson != null) {
-            hp4mSecret = (String) loginJson.get(Constants.LOGIN_SECRET);
-            jsessionId = (String) loginJson.get(Constants.JSESSIONID);
-        }
-        Map<String, String> headers = new HashMap<String, String>();
-        headers.put(Constants.LOGIN_SECRET, hp4mSecret);
-        headers.put(Constants.COOKIE, Constants.JESEEIONEQ + jsessionId);
-        headers.put(Constants.CONTENT_TYPE, Constants.CONTENT_TYPE_DOWNLOAD_VALUE + Constants.BOUNDARYSTR);
-        headers.put(Constants.FILENAME, appFile.getName());
+        byte[] prefix = content.toString().getBytes();
+        byte[] suffix = ("\r\n------" + Constants.BOUNDARYSTR + "--\r\n").getBytes();
+        long contentLength = prefix.length + appFile.length() + suffix.length;
 
         HttpUtils.ProxyInfo proxyInfo = HttpUtils.setProxyCfg(proxyAddress, proxyUsername, proxyPassword);
-        HttpResponse response = HttpUtils.post(proxyInfo, uploadUrl, headers, bytes);
+        HttpResponse response = sendInSession(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword, session -> {
+            Map<String, String> headers = new HashMap<String, String>();
+            headers.put(Constants.LOGIN_SECRET, session.hp4mSecret);
+            headers.put(Constants.COOKIE, Constants.JESEEIONEQ + session.jsessionId);
+            headers.put(Constants.CONTENT_TYPE, Constants.CONTENT_TYPE_DOWNLOAD_VALUE + Constants.BOUNDARYSTR);
+            headers.put(Constants.FILENAME, appFile.getName());
+
+            //multipart body is streamed from the file, app is never loaded to memory
+            try (InputStream body = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                    new ByteArrayInputStream(prefix), new BufferedInputStream(new FileInputStream(appFile)), new ByteArrayInputStream(suffix))))) {
+                return HttpUtils.post(proxyInfo, uploadUrl, headers, body, contentLength);
+            }
+        });
 
         if (response != null && response.getJsonObject() != null) {
             json = response.getJsonObject();
@@ -177,39 +173,24 @@ public class JobConfigurationProxy {
     public String createTempJob(String mcUrl, String mcUserName, String mcPassword, String mcTenantId, String proxyAddress, String proxyUserName, String proxyPassword) {
         JSONObject job = null;
         String jobId = null;
-        String hp4mSecret = null;
-        String jsessionId = null;
 
-        String loginJson = loginToMC(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUserName, proxyPassword).toJSONString();
         try {
-            if (loginJson != null) {
-                JSONObject jsonObject = (JSONObject) JSONValue.parseStrict(loginJson);
-                hp4mSecret = (String) jsonObject.get(Constants.LOGIN_SECRET);
-                jsessionId = (String) jsonObject.get(Constants.JSESSIONID);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        boolean isValid = argumentsCheck(hp4mSecret, jsessionId);
-
-        if (isValid) {
-            try {
+            HttpResponse response = sendInSession(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUserName, proxyPassword, session -> {
                 Map<String, String> headers = new HashMap<String, String>();
-                headers.put(Constants.LOGIN_SECRET, hp4mSecret);
-                headers.put(Constants.COOKIE, Constants.JESEEIONEQ + jsessionId);
-                HttpResponse response = HttpUtils.get(HttpUtils.setProxyCfg(proxyAddress,proxyUserName,proxyPassword), mcUrl + Constants.CREATE_JOB_URL, headers, null);
-
-                if (response != null && response.getJsonObject() != null) {
-                    job = response.getJsonObject();
-                    if(job != null && job.get("data") != null){
-                        JSONObject data = (JSONObject)job.get("data");
-                        jobId = data.getAsString("id");
-                    }
+                headers.put(Constants.LOGIN_SECRET, session.hp4mSecret);
+                headers.put(Constants.COOKIE, Constants.JESEEIONEQ + session.jsessionId);
+                return HttpUtils.get(HttpUtils.setProxyCfg(proxyAddress,proxyUserName,proxyPassword), mcUrl + Constants.CREATE_JOB_URL, headers, null);
+            });
+
+            if (response != null && response.getJsonObject() != null) {
+                job = response.getJsonObject();
+                if(job != null && job.get("data") != null){
+                    JSONObject data = (JSONObject)job.get("data");
+                    jobId = data.getAsString("id");
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
             }
+        } catch (Exception e) {
+            e.printStackTrace();
         }
         return jobId;
     }
@@ -217,28 +198,15 @@ public class JobConfigurationProxy {
     //get one job by id
     public JSONObject getJobById(String mcUrl, String mcUserName, String mcPassword, String mcTenantId, String proxyAddress, String proxyUsername, String proxyPassword, String jobUUID) {
         JSONObject jobJsonObject = null;
-        String hp4mSecret = null;
-        String jsessionId = null;
 
-        String loginJson = loginToMC(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword).toJSONString();
-        try {
-            if (loginJson != null) {
-                JSONObject jsonObject = (JSONObject) JSONValue.parseStrict(loginJson);
-                hp4mSecret = (String) jsonObject.get(Constants.LOGIN_SECRET);
-                jsessionId = (String) jsonObject.get(Constants.JSESSIONID);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        boolean b = argumentsCheck(jobUUID, hp4mSecret, jsessionId);
-
-        if (b) {
+        if (argumentsCheck(jobUUID)) {
             try {
-                Map<String, String> headers = new HashMap<String, String>();
-                headers.put(Constants.LOGIN_SECRET, hp4mSecret);
-                headers.put(Constants.COOKIE, Constants.JESEEIONEQ + jsessionId);
-                HttpResponse response = HttpUtils.get(HttpUtils.setProxyCfg(proxyAddress, proxyUsername, proxyPassword), mcUrl + Constants.GET_JOB_UEL + jobUUID, headers, null);
+                HttpResponse response = sendInSession(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword, session -> {
+                    Map<String, String> headers = new HashMap<String, String>();
+                    headers.put(Constants.LOGIN_SECRET, session.hp4mSecret);
+                    headers.put(Constants.COOKIE, Constants.JESEEIONEQ + session.jsessionId);
+                    return HttpUtils.get(HttpUtils.setProxyCfg(proxyAddress, proxyUsername, proxyPassword), mcUrl + Constants.GET_JOB_UEL + jobUUID, headers, null);
+                });
 
                 if (response != null && response.getJsonObject() != null) {
                     jobJsonObject = response.getJsonObject();
@@ -389,6 +357,76 @@ public class JobConfigurationProxy {
         return returnJSON;
     }
 
+    /**
+     * Send request with the session of the user, the session is logged in only if there is no valid session of the user.
+     * If server rejects reused session - session is expired on server, so request is sent again with new session.
+     * Other failures are returned as they are, the request is not necessarily safe to repeat.
+     */
+    private HttpResponse sendInSession(String mcUrl, String mcUserName, String mcPassword, String mcTenantId,
+                                       String proxyAddress, String proxyUsername, String proxyPassword, SessionRequest request) throws IOException {
+        String key = getSessionKey(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername);
+        McSession session = sessions.get(key);
+        boolean reused = session != null && !session.isExpired();
+        if (!reused) {
+            session = login(key, mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword);
+        }
+
+        if (!session.isValid()) {
+            return null;
+        }
+
+        HttpResponse response = request.send(session);
+        if (reused && isAuthenticationFailure(response)) {
+            sessions.remove(key, session);
+            session = login(key, mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword);
+            response = session.isValid() ? request.send(session) : null;
+        }
+        return response;
+    }
+
+    private static boolean isAuthenticationFailure(HttpResponse response) {
+        return response != null && (response.getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED
+                || response.getResponseCode() == HttpURLConnection.HTTP_FORBIDDEN);
+    }
+
+    private McSession login(String key, String mcUrl, String mcUserName, String mcPassword, String mcTenantId,
+                            String proxyAddress, String proxyUsername, String proxyPassword) {
+        JSONObject loginJson = loginToMC(mcUrl, mcUserName, mcPassword, mcTenantId, proxyAddress, proxyUsername, proxyPassword);
+        McSession session = new McSession((String) loginJson.get(Constants.LOGIN_SECRET), (String) loginJson.get(Constants.JSESSIONID));
+        if (session.isValid()) {
+            sessions.put(key, session);
+        }
+        return session;
+    }
+
+    private static String getSessionKey(String mcUrl, String mcUserName, String mcPassword, String mcTenantId, String proxyAddress, String proxyUsername) {
+        return String.join("|", mcUrl, mcUserName, mcTenantId, proxyAddress, proxyUsername,
+                mcPassword == null ? null : DigestUtils.sha256Hex(mcPassword));
+    }
+
+    private interface SessionRequest {
+        HttpResponse send(McSession session) throws IOException;
+    }
+
+    private static class McSession {
+        private final String hp4mSecret;
+        private final String jsessionId;
+        private final long loginTime = System.currentTimeMillis();
+
+        private McSession(String hp4mSecret, String jsessionId) {
+            this.hp4mSecret = hp4mSecret;
+            this.jsessionId = jsessionId;
+        }
+
+        private boolean isValid() {
+            return !StringUtils.isNullOrEmpty(hp4mSecret) && !StringUtils.isNullOrEmpty(jsessionId);
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - loginTime > SESSION_TIMEOUT;
+        }
+    }
+
     private JSONObject parseJSONString(String jsonString) {
         JSONObject jsonObject = null;
         try {
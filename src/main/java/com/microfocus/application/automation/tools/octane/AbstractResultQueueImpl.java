@@ -25,7 +25,6 @@
  *
  * ___________________________________________________________________
  */
-
 package com.microfocus.application.automation.tools.octane;
 
 import com.squareup.tape.FileObjectQueue;
@@ -34,38 +33,84 @@ import net.sf.json.JSONSerializer;
 import org.apache.commons.io.IOUtils;
 
 import java.io.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by benmeior on 11/21/2016
  *
  * Base implementation of ResultQueue: backed up by FileObjectQueue, persisted
+ * <p>
+ * Failed items are re-queued with a growing delay, items that are not due yet are skipped (moved to the tail) by peekFirst,
+ * so a failing item does not block the items behind it.
+ * Ordered queue keeps a failed item at its head instead, and holds the whole queue until the item is due.
+ * Items are stored in a compact binary format, records written by older versions in JSON format are still readable.
  */
 
 public abstract class AbstractResultQueueImpl implements ResultQueue {
 
 	private static final int RETRIES = 3;
+	private static final long RETRY_BASE_DELAY = TimeUnit.SECONDS.toMillis(10);
+	private static final long RETRY_MAX_DELAY = TimeUnit.MINUTES.toMillis(10);
+	private static final long COMPACTION_THRESHOLD = 1024 * 1024;
 	private final int MAX_RETRIES;
+	private final boolean keepOrder;
 
 	private FileObjectQueue<QueueItem> queue;
+	private File queueFile;
 
 	private QueueItem currentItem;
+	private long nextDueTime;
+	private long processedCount;
+	private long retriedCount;
 
 	public AbstractResultQueueImpl() {
-		this.MAX_RETRIES = RETRIES;
+		this(RETRIES);
 	}
 
 	public AbstractResultQueueImpl(int maxRetries) {
+		this(maxRetries, false);
+	}
+
+	public AbstractResultQueueImpl(int maxRetries, boolean keepOrder) {
 		this.MAX_RETRIES = maxRetries;
+		this.keepOrder = keepOrder;
 	}
 
 	protected void init(File queueFile) throws IOException {
-		queue = new FileObjectQueue<>(queueFile, new JsonConverter());
+		this.queueFile = queueFile;
+		queue = new FileObjectQueue<>(queueFile, new BinaryConverter());
 	}
 
 	@Override
 	public synchronized QueueItem peekFirst() {
 		if (currentItem == null) {
-			currentItem = queue.peek();
+			long now = System.currentTimeMillis();
+			if (now < nextDueTime) {
+				return null;
+			}
+
+			if (keepOrder) {
+				QueueItem head = queue.peek();
+				if (head != null && head.retryAt > now) {
+					nextDueTime = head.retryAt;
+					return null;
+				}
+				currentItem = head;
+				return currentItem;
+			}
+
+			//skip items that wait for retry, by moving them to the tail
+			long earliestDueTime = Long.MAX_VALUE;
+			for (int i = queue.size(); i > 0; i--) {
+				QueueItem head = queue.peek();
+				if (head.retryAt <= now) {
+					currentItem = head;
+					return currentItem;
+				}
+				earliestDueTime = Math.min(earliestDueTime, head.retryAt);
+				moveHeadToTail(head);
+			}
+			nextDueTime = earliestDueTime;
 		}
 		return currentItem;
 	}
@@ -73,17 +118,24 @@ public abstract class AbstractResultQueueImpl implements ResultQueue {
 	@Override
 	public synchronized boolean failed() {
 		if (currentItem != null) {
-			boolean retry;
 			if (++currentItem.failCount <= MAX_RETRIES) {
-				queue.add(currentItem);
-				retry = true;
-			} else {
-				retry = false;
+				long delay = Math.min(RETRY_MAX_DELAY, RETRY_BASE_DELAY << Math.min(currentItem.failCount - 1, 16));
+				currentItem.retryAt = System.currentTimeMillis() + delay;
+				int itemsBehind = queue.size() - 1;
+				moveHeadToTail(currentItem);
+				if (keepOrder) {
+					//rotate the items that were behind the failed one, so it is the head again
+					for (int i = 0; i < itemsBehind; i++) {
+						moveHeadToTail(queue.peek());
+					}
+				}
+				currentItem = null;
+				retriedCount++;
+				return true;
 			}
 
 			remove();
-
-			return retry;
+			return false;
 		} else {
 			throw new IllegalStateException("no outstanding item");
 		}
@@ -94,6 +146,8 @@ public abstract class AbstractResultQueueImpl implements ResultQueue {
 		if (currentItem != null) {
 			queue.remove();
 			currentItem = null;
+			processedCount++;
+			compactIfEmpty();
 		} else {
 			throw new IllegalStateException("no outstanding item");
 		}
@@ -101,36 +155,80 @@ public abstract class AbstractResultQueueImpl implements ResultQueue {
 
 	@Override
 	public synchronized void add(String projectName, int buildNumber) {
-		queue.add(new QueueItem(projectName, buildNumber));
+		enqueue(new QueueItem(projectName, buildNumber));
 	}
 
 	@Override
 	public synchronized void add(String projectName, String type, int buildNumber) {
-		queue.add(new QueueItem(projectName, type, buildNumber));
+		enqueue(new QueueItem(projectName, type, buildNumber));
 	}
 
 	@Override
 	public synchronized void add(String projectName, int buildNumber, String workspace) {
-		queue.add(new QueueItem(projectName, buildNumber, workspace));
+		enqueue(new QueueItem(projectName, buildNumber, workspace));
 	}
 
 	@Override
 	public synchronized void add(String instanceId, String projectName, int buildNumber, String workspace) {
 		QueueItem item = new QueueItem(projectName, buildNumber, workspace);
 		item.setInstanceId(instanceId);
+		enqueue(item);
+	}
+
+	/**
+	 * add item taken from another queue, keeping its state
+	 */
+	public synchronized void add(QueueItem item) {
+		enqueue(item);
+	}
+
+	/**
+	 * item is added before the head is removed, so a crash in between duplicates it rather than loses it
+	 */
+	private void moveHeadToTail(QueueItem head) {
+		queue.add(head);
+		queue.remove();
+	}
+
+	private void enqueue(QueueItem item) {
 		queue.add(item);
+		nextDueTime = 0;
 	}
 
-	public int size() {
+	public synchronized int size() {
 		return queue.size();
 	}
 
+	/**
+	 * @return number of items removed from the queue since it was opened, including the dropped ones, retries are not counted
+	 */
+	public synchronized long getProcessedCount() {
+		return processedCount;
+	}
+
+	/**
+	 * @return number of failed items that were re-queued for retry since the queue was opened
+	 */
+	public synchronized long getRetriedCount() {
+		return retriedCount;
+	}
+
+	/**
+	 * @return time in milliseconds that the head item is waiting in the queue, 0 if the queue is empty
+	 */
+	public synchronized long getHeadItemAge() {
+		QueueItem head = currentItem != null ? currentItem : queue.peek();
+		return head != null ? System.currentTimeMillis() - head.enqueuedAt : 0;
+	}
+
 	@Override
 	public synchronized void clear() {
 		while (queue.size() > 0) {
 			queue.remove();
 		}
 		currentItem = null;
+		nextDueTime = 0;
+		compactIfEmpty();
 	}
 
 	@Override
@@ -140,22 +238,81 @@ public abstract class AbstractResultQueueImpl implements ResultQueue {
 		}
 	}
 
-	private static class JsonConverter implements FileObjectQueue.Converter<QueueItem> {
+	/**
+	 * queue file never shrinks by itself, so once it is drained after a large backlog - it is recreated
+	 */
+	private void compactIfEmpty() {
+		if (queue.size() == 0 && queueFile != null && queueFile.length() > COMPACTION_THRESHOLD) {
+			queue.close();
+			queueFile.delete();
+			try {
+				queue = new FileObjectQueue<>(queueFile, new BinaryConverter());
+			} catch (IOException e) {
+				throw new IllegalStateException("failed to recreate queue file " + queueFile, e);
+			}
+		}
+	}
 
-		public static final String INSTANCE_ID = "instanceId";
+	private static class BinaryConverter implements FileObjectQueue.Converter<QueueItem> {
+
+		private static final byte BINARY_FORMAT_VERSION = 1;
 
 		@Override
 		public QueueItem from(byte[] bytes) throws IOException {
-			JSONObject json = (JSONObject) JSONSerializer.toJSON(IOUtils.toString(new ByteArrayInputStream(bytes)));
-			return objectFromJson(json);
+			if (bytes.length > 0 && bytes[0] == '{') {
+				return JsonConverter.fromJson(bytes);
+			}
+
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+			byte version = in.readByte();
+			if (version != BINARY_FORMAT_VERSION) {
+				throw new IOException("unsupported queue item format " + version);
+			}
+			QueueItem item = new QueueItem(readString(in), in.readInt(), in.readInt(), readString(in));
+			item.type = readString(in);
+			item.instanceId = readString(in);
+			item.enqueuedAt = in.readLong();
+			item.retryAt = in.readLong();
+			return item;
 		}
 
 		@Override
 		public void toStream(QueueItem item, OutputStream bytes) throws IOException {
-			JSONObject json = jsonFromObject(item);
-			OutputStreamWriter writer = new OutputStreamWriter(bytes);
-			writer.append(json.toString());
-			writer.close();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(BINARY_FORMAT_VERSION);
+			writeString(out, item.projectName);
+			out.writeInt(item.buildNumber);
+			out.writeInt(item.failCount);
+			writeString(out, item.workspace);
+			writeString(out, item.type);
+			writeString(out, item.instanceId);
+			out.writeLong(item.enqueuedAt);
+			out.writeLong(item.retryAt);
+			out.flush();
+		}
+
+		private static void writeString(DataOutputStream out, String value) throws IOException {
+			out.writeBoolean(value != null);
+			if (value != null) {
+				out.writeUTF(value);
+			}
+		}
+
+		private static String readString(DataInputStream in) throws IOException {
+			return in.readBoolean() ? in.readUTF() : null;
+		}
+	}
+
+	/**
+	 * Format used by older versions, kept to read items that were queued before upgrade
+	 */
+	private static class JsonConverter {
+
+		public static final String INSTANCE_ID = "instanceId";
+
+		private static QueueItem fromJson(byte[] bytes) throws IOException {
+			JSONObject json = (JSONObject) JSONSerializer.toJSON(IOUtils.toString(new ByteArrayInputStream(bytes)));
+			return objectFromJson(json);
 		}
 
 		private static QueueItem objectFromJson(JSONObject json) {
@@ -177,16 +334,5 @@ public abstract class AbstractResultQueueImpl implements ResultQueue {
 			}
 			return queueItem;
 		}
-
-		private static JSONObject jsonFromObject(QueueItem item) {
-			JSONObject json = new JSONObject();
-			json.put("project", item.projectName);
-			json.put("build", item.buildNumber);
-			json.put("count", item.failCount);
-			json.put("workspace", item.workspace);
-			json.put("type", item.type);
-            json.put(INSTANCE_ID, item.instanceId);
-			return json;
-		}
 	}
 }
@@ -63,6 +63,7 @@ import com.microfocus.application.automation.tools.octane.executor.ExecutorConne
 import com.microfocus.application.automation.tools.octane.executor.TestExecutionJobCreatorService;
 import com.microfocus.application.automation.tools.octane.executor.UftJobRecognizer;
 import com.microfocus.application.automation.tools.octane.model.ModelFactory;
+import com.microfocus.application.automation.tools.octane.model.PipelineNodeCache;
 import com.microfocus.application.automation.tools.octane.model.processors.parameters.ParameterProcessors;
 import com.microfocus.application.automation.tools.octane.model.processors.projects.AbstractProjectProcessor;
 import com.microfocus.application.automation.tools.octane.model.processors.projects.JobProcessorFactory;
@@ -186,7 +187,8 @@ public class CIJenkinsServicesImpl extends CIPluginServices {
 						}
 						tmpConfig = createPipelineNodeFromJobName(tempJobName);
 					} else {
-						tmpConfig = createPipelineNode(tempJobName, tmpJob, includeParameters);
+						String name = tempJobName;
+						tmpConfig = PipelineNodeCache.getJobNode(tmpJob, includeParameters, () -> createPipelineNode(name, tmpJob, includeParameters));
 					}
 					jobsMap.put(tempJobName, tmpConfig);
 				} catch (Throwable e) {
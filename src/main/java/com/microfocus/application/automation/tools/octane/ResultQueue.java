@@ -59,6 +59,8 @@ public interface ResultQueue {
 		int buildNumber;
 		String workspace;
 		int failCount;
+		long enqueuedAt;
+		long retryAt;
 
 		public void setInstanceId(String instanceId) {
 			this.instanceId = instanceId;
@@ -86,12 +88,11 @@ public interface ResultQueue {
 			this.projectName = projectName;
 			this.buildNumber = buildNumber;
 			this.failCount = failCount;
+			this.enqueuedAt = System.currentTimeMillis();
 		}
 
 		QueueItem(String projectName, int buildNumber, int failCount, String workspace) {
-			this.projectName = projectName;
-			this.buildNumber = buildNumber;
-			this.failCount = failCount;
+			this(projectName, buildNumber, failCount);
 			this.workspace = workspace;
 		}
 
@@ -122,5 +123,13 @@ public interface ResultQueue {
 		public String getWorkspace() {
 			return workspace;
 		}
+
+		public long getEnqueuedAt() {
+			return enqueuedAt;
+		}
+
+		public long getRetryAt() {
+			return retryAt;
+		}
 	}
 }
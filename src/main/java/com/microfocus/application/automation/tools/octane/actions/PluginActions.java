@@ -33,6 +33,7 @@ import com.hp.octane.integrations.OctaneSDK;
 import com.hp.octane.integrations.dto.general.CIServerInfo;
 import com.microfocus.application.automation.tools.octane.CIJenkinsServicesImpl;
 import com.microfocus.application.automation.tools.octane.configuration.ConfigurationService;
+import com.microfocus.application.automation.tools.octane.model.PipelineNodeCache;
 import hudson.Extension;
 import hudson.model.RootAction;
 import jenkins.model.Jenkins;
@@ -169,6 +170,7 @@ public class PluginActions implements RootAction {
     }
 
     private void resetJobListCache() {
+        PipelineNodeCache.clear();
         OctaneSDK.getClients().stream().forEach(oc -> {
             oc.getTasksProcessor().resetJobListCache();
         });
@@ -0,0 +1,187 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.actions;
+
+import hudson.FilePath;
+import hudson.remoting.FastPipedInputStream;
+import hudson.remoting.FastPipedOutputStream;
+import hudson.remoting.RemoteOutputStream;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Transfers report files from workspace to master in one compressed stream.
+ * Files are streamed from disk to the consumer, so whole file content is never held in memory,
+ * and a file with the same content as a file that was already transferred is not sent again.
+ */
+public final class ReportFilesTransfer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte RECORD_END = 0;
+    private static final byte RECORD_FILE = 1;
+    private static final byte RECORD_DUPLICATE = 2;
+
+    private ReportFilesTransfer() {
+    }
+
+    public interface FileConsumer {
+
+        /**
+         * Called on master for every transferred file, in the order of the requested paths
+         *
+         * @param relativePath path of the file relative to workspace
+         * @param content      content of the file, should not be closed
+         */
+        void accept(String relativePath, InputStream content) throws IOException;
+
+        /**
+         * Called on master for a file that has the same content as a file that was already accepted
+         */
+        default void duplicate(String relativePath, String originalRelativePath) {
+        }
+    }
+
+    public static void transfer(FilePath workspace, String[] relativePaths, FileConsumer consumer) throws IOException, InterruptedException {
+        if (relativePaths.length == 0) {
+            return;
+        }
+
+        FastPipedInputStream pipeIn = new FastPipedInputStream();
+        FastPipedOutputStream pipeOut = new FastPipedOutputStream(pipeIn);
+        Future<Void> sending = workspace.actAsync(new SendFilesCallable(new ArrayList<>(Arrays.asList(relativePaths)), new RemoteOutputStream(pipeOut)));
+
+        boolean received = false;
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(pipeIn, BUFFER_SIZE))) {
+            byte recordType;
+            while ((recordType = in.readByte()) != RECORD_END) {
+                String relativePath = in.readUTF();
+                if (recordType == RECORD_DUPLICATE) {
+                    consumer.duplicate(relativePath, in.readUTF());
+                } else {
+                    BoundedInputStream content = new BoundedInputStream(in, in.readLong());
+                    content.setPropagateClose(false);
+                    consumer.accept(relativePath, content);
+                    IOUtils.skip(content, Long.MAX_VALUE);
+                }
+            }
+            //read to the end of stream, so sender is not failed by closing the pipe before it completes
+            IOUtils.skip(in, Long.MAX_VALUE);
+            received = true;
+        } catch (EOFException e) {
+            //sender closes the stream also when it fails, so the real cause is the failure of the sender
+            try {
+                sending.get();
+            } catch (ExecutionException sendingFailure) {
+                IOException failure = new IOException("Failed to send report files from workspace", sendingFailure.getCause());
+                failure.addSuppressed(e);
+                throw failure;
+            }
+            throw e;
+        } finally {
+            if (!received) {
+                sending.cancel(true);
+            }
+        }
+
+        try {
+            sending.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to send report files from workspace", e.getCause());
+        }
+    }
+
+    private static final class SendFilesCallable extends MasterToSlaveFileCallable<Void> {
+        private final List<String> relativePaths;
+        private final OutputStream out;
+
+        private SendFilesCallable(List<String> relativePaths, OutputStream out) {
+            this.relativePaths = relativePaths;
+            this.out = out;
+        }
+
+        @Override
+        public Void invoke(File rootDir, VirtualChannel channel) throws IOException {
+            Map<String, String> pathByHash = new HashMap<>();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (DataOutputStream os = new DataOutputStream(new GZIPOutputStream(out, BUFFER_SIZE))) {
+                for (String relativePath : relativePaths) {
+                    File file = new File(rootDir, relativePath);
+                    String originalPath = pathByHash.putIfAbsent(computeHash(file, buffer), relativePath);
+                    if (originalPath != null) {
+                        os.writeByte(RECORD_DUPLICATE);
+                        os.writeUTF(relativePath);
+                        os.writeUTF(originalPath);
+                        continue;
+                    }
+
+                    long length = file.length();
+                    os.writeByte(RECORD_FILE);
+                    os.writeUTF(relativePath);
+                    os.writeLong(length);
+                    try (InputStream is = Files.newInputStream(file.toPath())) {
+                        if (IOUtils.copyLarge(is, os, 0, length, buffer) != length) {
+                            throw new IOException("File " + file + " was changed while it was sent");
+                        }
+                    }
+                }
+                os.writeByte(RECORD_END);
+            }
+            return null;
+        }
+
+        private static String computeHash(File file, byte[] buffer) throws IOException {
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                return Hex.encodeHexString(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -32,7 +32,6 @@ import com.microfocus.application.automation.tools.octane.tests.build.BuildHandl
 import hudson.FilePath;
 import hudson.model.*;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -62,15 +61,7 @@ public class CoveragePublisherAction implements Action {
 				CoverageService.log("start copying coverage report to build folder, using file patten of " + filePattern);
 				String[] files = CoverageService.getCoverageFiles(workspace, filePattern);
 				List<String> matchingReportFiles = filterFilesByFileExtension(files);
-				int index = 0;
-
-				for (String fileName : matchingReportFiles) {
-					File resultFile = new File(workspace.child(fileName).toURI());
-					String nextOutputFilename = CoverageService.getCoverageReportFileName(index++, defaultFileName);
-					result.add(nextOutputFilename);
-					File targetReportFile = new File(build.getRootDir(), nextOutputFilename);
-					CoverageService.copyCoverageFile(resultFile, targetReportFile, workspace);
-				}
+				CoverageService.copyCoverageFiles(matchingReportFiles, defaultFileName, build.getRootDir(), workspace, result);
 
 				if (result.isEmpty()) {
 					// most likely a configuration error in the job - e.g. false pattern to match the cucumber result files
@@ -28,6 +28,7 @@
 
 package com.microfocus.application.automation.tools.octane.actions.coverage;
 
+import com.microfocus.application.automation.tools.octane.actions.ReportFilesTransfer;
 import hudson.FilePath;
 import hudson.Util;
 import hudson.model.TaskListener;
@@ -37,9 +38,11 @@ import org.apache.tools.ant.DirectoryScanner;
 import org.apache.tools.ant.types.FileSet;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
 
 /**
  * Helper Service for coverage publisher
@@ -72,31 +75,44 @@ public class CoverageService {
         return workspace.act(new ResultFilesCallable(glob));
     }
 
-    public static void copyCoverageFile(File resultFile, File targetReportFile, final FilePath workspace) throws IOException, InterruptedException {
-        log(String.format("Copying %s to %s", resultFile.getPath(), targetReportFile));
-
-        byte[] content = workspace.act(new FileContentCallable(resultFile));
-
-        if (validateContent(content)) {
-            log("Got coverage file content");
+    /**
+     * copy coverage files from workspace to build folder, all files are transferred in one stream
+     *
+     * @param result list to add names of the report files in build folder to, in the order of given files
+     */
+    public static void copyCoverageFiles(List<String> files, String defaultFileName, File buildDir, final FilePath workspace, List<String> result) throws IOException, InterruptedException {
+        ReportFilesTransfer.transfer(workspace, files.toArray(new String[0]), new ReportFilesTransfer.FileConsumer() {
+            @Override
+            public void accept(String relativePath, InputStream content) throws IOException {
+                String nextOutputFilename = getCoverageReportFileName(result.size(), defaultFileName);
+                result.add(nextOutputFilename);
+                File targetReportFile = new File(buildDir, nextOutputFilename);
+                log(String.format("Copying %s to %s", relativePath, targetReportFile));
+
+                long size = Files.copy(content, targetReportFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                if (validateContent(size)) {
+                    log(String.format("coverage file copied successfully to %s", targetReportFile.getPath()));
+                } else {
+                    Files.delete(targetReportFile.toPath());
+                    log("coverage file content corrupted, failed to copy the file to target destination");
+                }
+            }
 
-            try (FileOutputStream os = new FileOutputStream(targetReportFile)) {
-                os.write(content);
+            @Override
+            public void duplicate(String relativePath, String originalRelativePath) {
+                log(String.format("Skipping %s, it has the same content as %s", relativePath, originalRelativePath));
             }
-            log(String.format("coverage file copied successfully to %s", targetReportFile.getPath()));
-        } else {
-            log("coverage file content corrupted, failed to copy the file to target destination");
-        }
+        });
     }
 
     /**
      * most of the validations will be done in octane side
      * this is a place holder to do more validations if needed
-     * @param content of the file
+     * @param size of the file content
      * @return status
      */
-    private static boolean validateContent(byte[] content) {
-        return content.length > 0;
+    private static boolean validateContent(long size) {
+        return size > 0;
     }
 
     public static void log(final String message) {
@@ -127,17 +143,4 @@ public class CoverageService {
         }
     }
 
-    private static final class FileContentCallable extends MasterToSlaveFileCallable<byte[]> {
-        private final File file;
-
-        private FileContentCallable(File file) {
-            this.file = file;
-        }
-
-        @Override
-        public byte[] invoke(File rootDir, VirtualChannel channel) throws IOException {
-            return Files.readAllBytes(file.toPath());
-        }
-    }
-
 }
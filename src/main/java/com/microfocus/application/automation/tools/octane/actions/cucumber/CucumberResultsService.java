@@ -29,18 +29,22 @@
 package com.microfocus.application.automation.tools.octane.actions.cucumber;
 
 import com.microfocus.application.automation.tools.octane.Messages;
+import com.microfocus.application.automation.tools.octane.actions.ReportFilesTransfer;
 import hudson.FilePath;
 import hudson.Util;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
 import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.io.IOUtils;
 import org.apache.tools.ant.DirectoryScanner;
 import org.apache.tools.ant.types.FileSet;
 
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Helper Service for Gherkin results
@@ -51,6 +55,8 @@ public class CucumberResultsService {
     public static final String GHERKIN_NGA_RESULTS = "OctaneGherkinResults";
     public static final String DEFAULT_GLOB = "**/*" + GHERKIN_NGA_RESULTS_XML;
 
+    private static final int VALIDATED_CONTENT_LENGTH = 2000;
+
     private static TaskListener listener;
 
     public static String getGherkinResultFileName(int index) {
@@ -67,31 +73,47 @@ public class CucumberResultsService {
         return workspace.act(new ResultFilesCallable(glob));
     }
 
-    public static void copyResultFile(File resultFile, File destinationFolder, final FilePath workspace) throws IOException, InterruptedException {
-        File existingReportFile;
-        int existingResultIndex = -1;
-
-        log("Copying %s to %s", resultFile.getPath(), destinationFolder.getPath());
-
-        do {
-            existingReportFile = new File(destinationFolder, getGherkinResultFileName(++existingResultIndex));
-        } while (existingReportFile.exists());
-        log("New file name on destination will be %s", existingReportFile.getPath());
-
-        byte[] content = workspace.act(new FileContentCallable(resultFile));
-        log("Got result file content");
-
-        validateContent(content);
+    /**
+     * copy result files from workspace to destination folder, all files are transferred in one stream
+     * and numbered after the result files that already exist in destination folder
+     */
+    public static void copyResultFiles(String[] files, File destinationFolder, final FilePath workspace) throws IOException, InterruptedException {
+        AtomicInteger nextResultIndex = new AtomicInteger(findFreeResultIndex(destinationFolder));
+
+        ReportFilesTransfer.transfer(workspace, files, new ReportFilesTransfer.FileConsumer() {
+            @Override
+            public void accept(String relativePath, InputStream content) throws IOException {
+                File target = new File(destinationFolder, getGherkinResultFileName(nextResultIndex.getAndIncrement()));
+                log("Copying %s to %s", relativePath, destinationFolder.getPath());
+                log("New file name on destination will be %s", target.getPath());
+
+                BufferedInputStream bufferedContent = new BufferedInputStream(content, VALIDATED_CONTENT_LENGTH);
+                bufferedContent.mark(VALIDATED_CONTENT_LENGTH);
+                byte[] contentStart = new byte[VALIDATED_CONTENT_LENGTH];
+                validateContent(contentStart, IOUtils.read(bufferedContent, contentStart));
+                bufferedContent.reset();
+
+                Files.copy(bufferedContent, target.toPath());
+                log("Result file copied to %s", target.getPath());
+            }
+
+            @Override
+            public void duplicate(String relativePath, String originalRelativePath) {
+                log("Skipping %s, it has the same content as %s", relativePath, originalRelativePath);
+            }
+        });
+    }
 
-        File target = existingReportFile;
-        try (FileOutputStream os = new FileOutputStream(target)) {
-            os.write(content);
+    private static int findFreeResultIndex(File destinationFolder) {
+        int index = 0;
+        while (new File(destinationFolder, getGherkinResultFileName(index)).exists()) {
+            index++;
         }
-        log("Result file copied to %s", target.getPath());
+        return index;
     }
 
-    private static void validateContent(byte[] content) {
-        String contentStr = new String(content, 0, Math.min(content.length , 2000));
+    private static void validateContent(byte[] content, int length) {
+        String contentStr = new String(content, 0, length);
         //Heuristic validation. we don't check the whole file structure here - we should be quick.
         if(!contentStr.contains("<features")) {
             throw new IllegalArgumentException("The file is not Octane Gherkin results file");
@@ -124,17 +146,4 @@ public class CucumberResultsService {
         }
     }
 
-    private static final class FileContentCallable extends MasterToSlaveFileCallable<byte[]> {
-        private final File file;
-
-        private FileContentCallable(File file) {
-            this.file = file;
-        }
-
-        @Override
-        public byte[] invoke(File rootDir, VirtualChannel channel) throws IOException {
-            return Files.readAllBytes(file.toPath());
-        }
-    }
-
 }
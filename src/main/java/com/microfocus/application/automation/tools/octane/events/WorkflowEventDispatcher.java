@@ -0,0 +1,94 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.octane.events;
+
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs Octane work for pipeline runs away from the CPS VM thread.
+ * Work of the same run always goes to the same single threaded lane, so it is handled in submission order,
+ * while different runs are handled in parallel.
+ */
+class WorkflowEventDispatcher {
+	private static final Logger logger = SDKBasedLoggerProvider.getLogger(WorkflowEventDispatcher.class);
+	private static final int LANE_QUEUE_CAPACITY = 1000;
+
+	private final ThreadPoolExecutor[] lanes;
+
+	WorkflowEventDispatcher(int lanesCount) {
+		lanes = new ThreadPoolExecutor[lanesCount];
+		for (int i = 0; i < lanesCount; i++) {
+			lanes[i] = createLane("Octane workflow events " + i);
+		}
+	}
+
+	private static ThreadPoolExecutor createLane(String name) {
+		return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(LANE_QUEUE_CAPACITY),
+				runnable -> {
+					Thread thread = new Thread(runnable, name);
+					thread.setDaemon(true);
+					return thread;
+				},
+				WorkflowEventDispatcher::waitForRoom);
+	}
+
+	/**
+	 * The lane is full: wait for room instead of running here, running here would break the order of the run's events.
+	 */
+	private static void waitForRoom(Runnable runnable, ThreadPoolExecutor lane) {
+		if (lane.isShutdown()) {
+			throw new RejectedExecutionException("Octane workflow events lane is shut down");
+		}
+		logger.warn("Octane workflow events lane is full, waiting for room");
+		try {
+			lane.getQueue().put(runnable);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException(e);
+		}
+	}
+
+	void dispatch(String runKey, Runnable work) {
+		lanes[Math.floorMod(runKey.hashCode(), lanes.length)].execute(() -> {
+			try {
+				work.run();
+			} catch (Throwable throwable) {
+				logger.error("failed to process workflow event of " + runKey, throwable);
+			}
+		});
+	}
+}
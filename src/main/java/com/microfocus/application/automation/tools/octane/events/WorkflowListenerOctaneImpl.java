@@ -56,9 +56,9 @@ import org.jenkinsci.plugins.workflow.flow.GraphListener;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Octane's listener for WorkflowRun events
@@ -78,7 +78,12 @@ public class WorkflowListenerOctaneImpl implements GraphListener {
 	//After upgrading Pipeline:Groovy plugin to Version 2.64: receive two start events, therefore
 	// pipeline job shows 2 bars for a single pipeline run.
 	// Here we add job key during start event and remove key in finished event
-	private static Set<String> workflowJobStarted = new HashSet<>();
+	private static final Set<String> workflowJobStarted = ConcurrentHashMap.newKeySet();
+
+	// onNewHead is called on the pipeline's CPS VM thread, so the events are only detected there
+	// and built, together with the test results processing, on the dispatcher's threads
+	private static final WorkflowEventDispatcher dispatcher =
+			new WorkflowEventDispatcher(Math.min(4, Runtime.getRuntime().availableProcessors()));
 	@Inject
 	private TestListener testListener;
 
@@ -89,32 +94,32 @@ public class WorkflowListenerOctaneImpl implements GraphListener {
 		}
 		try {
 			if (BuildHandlerUtils.isWorkflowStartNode(flowNode)) {
-				sendPipelineStartedEvent(flowNode);
+				WorkflowRun parentRun = BuildHandlerUtils.extractParentRun(flowNode);
+				//Avoid duplicate start events
+				if (workflowJobStarted.add(getBuildKey(parentRun))) {
+					dispatcher.dispatch(getBuildKey(parentRun), () -> sendPipelineStartedEvent(parentRun));
+				}
 			} else if (BuildHandlerUtils.isWorkflowEndNode(flowNode)) {
 				WorkflowRun parentRun = BuildHandlerUtils.extractParentRun(flowNode);
-				sendPipelineFinishedEvent(parentRun);
-				BuildLogHelper.enqueueBuildLog(parentRun);
+				dispatcher.dispatch(getBuildKey(parentRun), () -> {
+					sendPipelineFinishedEvent(parentRun);
+					BuildLogHelper.enqueueBuildLog(parentRun);
+				});
 			} else if (BuildHandlerUtils.isStageStartNode(flowNode)) {
-				sendStageStartedEvent((StepStartNode) flowNode);
+				StepStartNode stepStartNode = (StepStartNode) flowNode;
+				dispatcher.dispatch(getBuildKey(BuildHandlerUtils.extractParentRun(flowNode)),
+						() -> sendStageStartedEvent(stepStartNode));
 			} else if (BuildHandlerUtils.isStageEndNode(flowNode)) {
-				sendStageFinishedEvent((StepEndNode) flowNode);
+				StepEndNode stepEndNode = (StepEndNode) flowNode;
+				dispatcher.dispatch(getBuildKey(BuildHandlerUtils.extractParentRun(flowNode)),
+						() -> sendStageFinishedEvent(stepEndNode));
 			}
 		} catch (Throwable throwable) {
 			logger.error("failed to build and/or dispatch STARTED/FINISHED event for " + flowNode, throwable);
 		}
 	}
 
-	private void sendPipelineStartedEvent(FlowNode flowNode) {
-		WorkflowRun parentRun = BuildHandlerUtils.extractParentRun(flowNode);
-
-		//Avoid duplicate start events
-		String buildKey = getBuildKey(parentRun);
-		if (workflowJobStarted.contains(buildKey)) {
-			return;
-		} else {
-			workflowJobStarted.add(buildKey);
-		}
-
+	private void sendPipelineStartedEvent(WorkflowRun parentRun) {
 		CIEvent event = dtoFactory.newDTO(CIEvent.class)
 				.setEventType(CIEventType.STARTED)
 				.setProjectDisplayName(BuildHandlerUtils.translateFullDisplayName(parentRun.getParent().getFullDisplayName()))
@@ -151,7 +156,7 @@ public class WorkflowListenerOctaneImpl implements GraphListener {
 	}
 
 	private String getBuildKey(WorkflowRun run){
-		return run.getFullDisplayName();
+		return run.getExternalizableId();
 	}
 
 	private void sendPipelineFinishedEvent(WorkflowRun parentRun) {
@@ -59,7 +59,10 @@ public class UFTTestDetectionService {
             boolean myFullScan = fullScan || !initialDetectionFileExist(rootDir);
             if (myFullScan) {
                 printToConsole(buildListener, "Executing full sync");
-                result = UftTestDiscoveryUtils.doFullDiscovery(rootDir);
+                UftTestDiscoveryIndex index = UftTestDiscoveryIndex.load(rootDir);
+                result = index.doFullDiscovery();
+                index.save();
+                printToConsole(buildListener, String.format("Reused %s unchanged tests from discovery index", index.getReusedTestsCount()));
             } else {
                 printToConsole(buildListener, "Executing changeSet sync. For full sync - define in job boolean parameter 'Full sync' with value 'true'.");
                 result = doChangeSetDetection(scmChangesWrapper, rootDir);
@@ -126,28 +129,32 @@ public class UFTTestDetectionService {
     private static void removeFalsePositiveDataTables(UftTestDiscoveryResult result, List<AutomatedTest> tests, List<ScmResourceFile> scmResourceFiles) {
         if (!scmResourceFiles.isEmpty() && !tests.isEmpty()) {
 
-            List<ScmResourceFile> falsePositive = new ArrayList<>();
+            Set<String> testPaths = new HashSet<>();
+            for (AutomatedTest test : tests) {
+                testPaths.add(SdkStringUtils.isEmpty(test.getPackage()) ? test.getName() : test.getPackage() + SdkConstants.FileSystem.WINDOWS_PATH_SPLITTER + test.getName());
+            }
+
+            Set<ScmResourceFile> falsePositive = new HashSet<>();
             for (ScmResourceFile item : scmResourceFiles) {
-                int parentSplitterIndex = item.getRelativePath().lastIndexOf(SdkConstants.FileSystem.WINDOWS_PATH_SPLITTER);
-                if (parentSplitterIndex != -1) {
-                    String parentName = item.getRelativePath().substring(0, parentSplitterIndex);
-                    for (AutomatedTest test : tests) {
-                        String testPath = SdkStringUtils.isEmpty(test.getPackage()) ? test.getName() : test.getPackage() + SdkConstants.FileSystem.WINDOWS_PATH_SPLITTER + test.getName();
-                        if (parentName.contains(testPath)) {
-                            falsePositive.add(item);
-                            break;
-                        }
+                //check every ancestor folder of the data table against the test paths
+                String parentName = item.getRelativePath();
+                int parentSplitterIndex;
+                while ((parentSplitterIndex = parentName.lastIndexOf(SdkConstants.FileSystem.WINDOWS_PATH_SPLITTER)) != -1) {
+                    parentName = parentName.substring(0, parentSplitterIndex);
+                    if (testPaths.contains(parentName)) {
+                        falsePositive.add(item);
+                        break;
                     }
                 }
             }
 
-            result.getAllScmResourceFiles().removeAll(falsePositive);
+            result.getAllScmResourceFiles().removeIf(falsePositive::contains);
         }
     }
 
     private static void removeTestDuplicatedForUpdateTests(UftTestDiscoveryResult result) {
         Set<String> keys = new HashSet<>();
-        List<AutomatedTest> testsToRemove = new ArrayList<>();
+        Set<AutomatedTest> testsToRemove = new HashSet<>();
         for (AutomatedTest test : result.getUpdatedTests()) {
             String key = test.getPackage() + "_" + test.getName();
             if (keys.contains(key)) {
@@ -156,7 +163,7 @@ public class UFTTestDetectionService {
             keys.add(key);
 
         }
-        result.getAllTests().removeAll(testsToRemove);
+        result.getAllTests().removeIf(testsToRemove::contains);
     }
 
     public static void printToConsole(BuildListener buildListener, String msg) {
@@ -46,11 +46,17 @@ import hudson.model.AbstractBuild;
 import hudson.model.Job;
 import hudson.model.TaskListener;
 import jenkins.model.Jenkins;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.Logger;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -59,6 +65,10 @@ import java.util.concurrent.TimeUnit;
  * after connection is up - this dispatcher will send tests to Octane.
  * <p>
  * Actually list of discovered tests are persisted in job run directory. Queue contains only reference to that job run.
+ * <p>
+ * Queued items are moved to a lane per Octane workspace. Every lane is a file-based queue of its own, so an item stays
+ * persisted until it is dispatched. Lanes are dispatched in parallel by a bounded pool of workers,
+ * so a slow workspace does not delay the results of other workspaces, while items of the same workspace keep their order.
  */
 @Extension
 public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWork {
@@ -67,8 +77,19 @@ public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWo
     private final static int MAX_DISPATCH_TRIALS = 5;
     private static final String OCTANE_VERSION_SUPPORTING_TEST_RENAME = "12.60.3";
 
+    private static final int DEFAULT_WORKERS = 4;
+    private static final long WORKERS_SHUTDOWN_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+    private static final String LANES_FOLDER = "octane-uft-tests-lanes";
+    private static final String LANE_FILE_EXTENSION = ".dat";
+    private static final long SERVER_VERSION_CACHE_PERIOD = TimeUnit.HOURS.toMillis(1);
+    private static final Map<String, TestRenameSupport> testRenameSupportByInstance = new ConcurrentHashMap<>();
+
     private UftTestDiscoveryQueue queue;
     private volatile boolean stopped = false;
+    private final Map<String, UftTestDiscoveryQueue> lanes = new LinkedHashMap<>();
+    private final Set<String> activeLanes = new HashSet<>();
+    private boolean lanesLoaded = false;
+    private ExecutorService workers;
 
     public UftTestDiscoveryDispatcher() {
         super("Uft Test Discovery Dispatcher");
@@ -81,55 +102,192 @@ public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWo
             return;
         }
 
-        if (queue.peekFirst() == null) {
-            return;
-        }
+        synchronized (lanes) {
+            loadLanes();
+            if (queue.peekFirst() == null && lanes.isEmpty()) {
+                return;
+            }
 
-        logger.warn("Queue size  " + queue.size());
+            logger.warn("Queue size  " + queue.size() + ", pending in " + lanes.size() + " workspace lanes " + countPendingInLanes()
+                    + ", oldest pending item age " + getOldestPendingAge() + " ms, processed " + getProcessedCount());
 
-        if (OctaneSDK.getClients().isEmpty()) {
-            logger.warn("There are pending discovered UFT tests, but no Octane configuration is found, results can't be submitted");
-            return;
-        }
+            if (OctaneSDK.getClients().isEmpty()) {
+                logger.warn("There are pending discovered UFT tests, but no Octane configuration is found, results can't be submitted");
+                return;
+            }
 
-        ResultQueue.QueueItem item = null;
-        try {
+            //move queued items to the lanes of their workspaces, items of the same workspace keep their order.
+            //item is added to its lane before it is removed from the queue, so it is never only in memory
+            ResultQueue.QueueItem item;
             while ((item = queue.peekFirst()) != null) {
-
-                Job project = (Job) Jenkins.get().getItemByFullName(item.getProjectName());
-                if (project == null) {
-                    logger.warn("Project [" + item.getProjectName() + "] no longer exists, pending discovered tests can't be submitted");
-                    queue.remove();
-                    continue;
+                UftTestDiscoveryQueue lane = getLane(getLaneKey(item));
+                if (lane == null) {
+                    break;
                 }
+                lane.add(item);
+                queue.remove();
+            }
 
-                AbstractBuild build = (AbstractBuild) project.getBuildByNumber(item.getBuildNumber());
-                if (build == null) {
-                    logger.warn("Build [" + item.getProjectName() + "#" + item.getBuildNumber() + "] no longer exists, pending discovered tests can't be submitted");
-                    queue.remove();
-                    continue;
+            for (String laneKey : lanes.keySet()) {
+                if (activeLanes.add(laneKey)) {
+                    getWorkers().submit(() -> drainLane(laneKey));
                 }
+            }
+        }
+    }
+
+    private static String getLaneKey(ResultQueue.QueueItem item) {
+        return DigestUtils.sha1Hex(item.getInstanceId() + "|" + item.getWorkspace());
+    }
+
+    private static File getLanesFolder() {
+        return new File(Jenkins.get().getRootDir(), LANES_FOLDER);
+    }
+
+    /**
+     * reopen lanes that were not drained before restart
+     */
+    private void loadLanes() {
+        if (lanesLoaded) {
+            return;
+        }
+        lanesLoaded = true;
+        File[] laneFiles = getLanesFolder().listFiles((dir, name) -> name.endsWith(LANE_FILE_EXTENSION));
+        if (laneFiles != null) {
+            for (File laneFile : laneFiles) {
+                getLane(StringUtils.removeEnd(laneFile.getName(), LANE_FILE_EXTENSION));
+            }
+        }
+    }
 
-                UftTestDiscoveryResult result = UFTTestDetectionService.readDetectionResults(build);
-                if (result == null) {
-                    logger.warn("Build [" + item.getProjectName() + "#" + item.getBuildNumber() + "] no longer contains valid detection result file");
-                    queue.remove();
-                    continue;
+    private UftTestDiscoveryQueue getLane(String laneKey) {
+        UftTestDiscoveryQueue lane = lanes.get(laneKey);
+        if (lane == null) {
+            File lanesFolder = getLanesFolder();
+            try {
+                if (!lanesFolder.isDirectory() && !lanesFolder.mkdirs()) {
+                    throw new IOException("failed to create folder " + lanesFolder);
                 }
+                lane = new UftTestDiscoveryQueue(new File(lanesFolder, laneKey + LANE_FILE_EXTENSION), MAX_DISPATCH_TRIALS - 1);
+                lanes.put(laneKey, lane);
+            } catch (IOException e) {
+                logger.error("Failed to open workspace lane " + laneKey + " : " + e.getMessage());
+            }
+        }
+        return lane;
+    }
 
-                OctaneClient client;
-                try {
-                    client = OctaneSDK.getClientByInstanceId(result.getConfigurationId());
-                } catch (Exception e) {
-                    logger.error("Build [" + item.getProjectName() + "#" + item.getBuildNumber() + "] does not have valid configuration " + result.getConfigurationId() + " : " + e.getMessage());
-                    queue.remove();
-                    continue;
+    private int countPendingInLanes() {
+        int count = 0;
+        for (UftTestDiscoveryQueue lane : lanes.values()) {
+            count += lane.size();
+        }
+        return count;
+    }
+
+    private long getProcessedCount() {
+        long count = queue.getProcessedCount();
+        for (UftTestDiscoveryQueue lane : lanes.values()) {
+            count += lane.getProcessedCount();
+        }
+        return count;
+    }
+
+    private long getOldestPendingAge() {
+        long oldest = queue.getHeadItemAge();
+        for (UftTestDiscoveryQueue lane : lanes.values()) {
+            oldest = Math.max(oldest, lane.getHeadItemAge());
+        }
+        return oldest;
+    }
+
+    private synchronized ExecutorService getWorkers() {
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(getWorkersCount(), runnable -> {
+                Thread thread = new Thread(runnable, "Uft Test Discovery Dispatcher worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workers;
+    }
+
+    private static int getWorkersCount() {
+        String value = System.getProperty("UftTestDiscoveryDispatcher.Workers"); // let's us config the number of workspaces dispatched in parallel. default is 4.
+        if (!SdkStringUtils.isEmpty(value)) {
+            return Math.max(1, Integer.parseInt(value));
+        }
+        return DEFAULT_WORKERS;
+    }
+
+    /**
+     * Dispatch items of one workspace lane in order.
+     * Item that should be retried stays at the head of its lane with a growing delay, and the lane is resumed on a later period.
+     * Drained lane is closed and its file is deleted.
+     */
+    private void drainLane(String laneKey) {
+        UftTestDiscoveryQueue lane;
+        synchronized (lanes) {
+            lane = lanes.get(laneKey);
+        }
+
+        try {
+            ResultQueue.QueueItem item;
+            while (!stopped && lane != null && (item = lane.peekFirst()) != null) {
+                if (dispatchItem(item)) {
+                    lane.remove();
+                } else if (!lane.failed()) {
+                    logger.error("Failed to  persist discovery of [" + item.getProjectName() + "#" + item.getBuildNumber() + "]  after " + MAX_DISPATCH_TRIALS + " trials");
+                }
+            }
+        } finally {
+            synchronized (lanes) {
+                activeLanes.remove(laneKey);
+                if (!stopped && lane != null && lane.size() == 0) {
+                    lanes.remove(laneKey);
+                    lane.close();
+                    new File(getLanesFolder(), laneKey + LANE_FILE_EXTENSION).delete();
                 }
+            }
+        }
+    }
 
-                logger.warn("Persistence [" + item.getProjectName() + "#" + item.getBuildNumber() + "]");
-                dispatchDetectionResults(item, client.getEntitiesService(), result, build);
-                queue.remove();
+    /**
+     * @return true if item is handled and should be removed from its lane, false if it should be retried later
+     */
+    private static boolean dispatchItem(ResultQueue.QueueItem item) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Job project = (Job) Jenkins.get().getItemByFullName(item.getProjectName());
+            if (project == null) {
+                logger.warn("Project [" + item.getProjectName() + "] no longer exists, pending discovered tests can't be submitted");
+                return true;
             }
+
+            AbstractBuild build = (AbstractBuild) project.getBuildByNumber(item.getBuildNumber());
+            if (build == null) {
+                logger.warn("Build [" + item.getProjectName() + "#" + item.getBuildNumber() + "] no longer exists, pending discovered tests can't be submitted");
+                return true;
+            }
+
+            UftTestDiscoveryResult result = UFTTestDetectionService.readDetectionResults(build);
+            if (result == null) {
+                logger.warn("Build [" + item.getProjectName() + "#" + item.getBuildNumber() + "] no longer contains valid detection result file");
+                return true;
+            }
+
+            OctaneClient client;
+            try {
+                client = OctaneSDK.getClientByInstanceId(result.getConfigurationId());
+            } catch (Exception e) {
+                logger.error("Build [" + item.getProjectName() + "#" + item.getBuildNumber() + "] does not have valid configuration " + result.getConfigurationId() + " : " + e.getMessage());
+                return true;
+            }
+
+            logger.warn("Persistence [" + item.getProjectName() + "#" + item.getBuildNumber() + "]");
+            dispatchDetectionResults(item, client.getEntitiesService(), result, build);
+            logger.info("Persisted [" + item.getProjectName() + "#" + item.getBuildNumber() + "] in " + (System.currentTimeMillis() - startTime) + " ms");
+            return true;
         } catch (OctaneRestException e) {
             String reasonDesc = StringUtils.isNotEmpty(e.getData().getDescriptionTranslated()) ? e.getData().getDescriptionTranslated() : e.getData().getDescription();
             if (e.getResponseStatus() == HttpStatus.SC_FORBIDDEN) {
@@ -137,21 +295,36 @@ public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWo
             } else {
                 logger.error("Failed to  persist discovery of [" + item.getProjectName() + "#" + item.getBuildNumber() + "]  : " + reasonDesc);
             }
-            queue.remove();
+            return true;
         } catch (Exception e) {
-            if (item != null) {
-                item.incrementFailCount();
-                if (item.incrementFailCount() > MAX_DISPATCH_TRIALS) {
-                    queue.remove();
-                    logger.error("Failed to  persist discovery of [" + item.getProjectName() + "#" + item.getBuildNumber() + "]  after " + MAX_DISPATCH_TRIALS + " trials");
-                }
-            }
+            logger.warn("Failed to  persist discovery of [" + item.getProjectName() + "#" + item.getBuildNumber() + "], will retry : " + e.getMessage());
+            return false;
         }
     }
 
     public void close() {
         logger.info("stopping the UFT dispatcher and closing its queue");
         stopped = true;
+        synchronized (this) {
+            if (workers != null) {
+                workers.shutdown();
+                try {
+                    //item that is being dispatched stays in its lane until it is done, so wait for it
+                    if (!workers.awaitTermination(WORKERS_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                        logger.warn("UFT dispatcher workers did not finish in time, items in progress will be dispatched again after restart");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        synchronized (lanes) {
+            for (UftTestDiscoveryQueue lane : lanes.values()) {
+                lane.close();
+            }
+            lanes.clear();
+        }
         queue.close();
     }
 
@@ -162,7 +335,7 @@ public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWo
             UftTestDispatchUtils.prepareDispatchingForFullSync(entitiesService, result);
 
         } else {
-            if (isOctaneSupportTestRename(entitiesService)) {
+            if (isOctaneSupportTestRename(result.getConfigurationId(), entitiesService)) {
                 handleMovedTests(result);
                 handleMovedDataTables(result);
             }
@@ -398,11 +571,17 @@ public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWo
         }
     }
 
-    private static boolean isOctaneSupportTestRename(EntitiesService entitiesService) {
+    private static boolean isOctaneSupportTestRename(String instanceId, EntitiesService entitiesService) {
+        TestRenameSupport cached = testRenameSupportByInstance.get(instanceId);
+        if (cached != null && System.currentTimeMillis() - cached.checkedAt < SERVER_VERSION_CACHE_PERIOD) {
+            return cached.supported;
+        }
+
         try {
             String octane_version = getOctaneVersion(entitiesService);
             boolean supportTestRename = (octane_version != null && versionCompare(OCTANE_VERSION_SUPPORTING_TEST_RENAME, octane_version) <= 0);
             logger.warn("Support test rename = " + supportTestRename);
+            testRenameSupportByInstance.put(instanceId, new TestRenameSupport(supportTestRename));
             return supportTestRename;
         } catch (Exception e) {//can occur if user doesnot have permission to get octane version
             logger.warn("Failed to check isOctaneSupportTestRename : " + e.getMessage());
@@ -459,4 +638,12 @@ public class UftTestDiscoveryDispatcher extends AbstractSafeLoggingAsyncPeriodWo
         }
     }
 
+    private static class TestRenameSupport {
+        private final boolean supported;
+        private final long checkedAt = System.currentTimeMillis();
+
+        private TestRenameSupport(boolean supported) {
+            this.supported = supported;
+        }
+    }
 }
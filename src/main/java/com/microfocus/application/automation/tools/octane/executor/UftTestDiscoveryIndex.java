@@ -0,0 +1,226 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.executor;
+
+import com.hp.octane.integrations.uft.UftTestDiscoveryUtils;
+import com.hp.octane.integrations.uft.items.AutomatedTest;
+import com.hp.octane.integrations.uft.items.UftTestDiscoveryResult;
+import com.hp.octane.integrations.uft.items.UftTestType;
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import hudson.FilePath;
+import hudson.slaves.WorkspaceList;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Index of the tests found by the last full discovery, persisted in the temporary folder of the workspace ({@code <workspace>@tmp}),
+ * so it is neither seen by SCM nor removed by a clean checkout.
+ * Every test folder is stamped with the names, sizes and modification times of all its files and subfolders;
+ * a folder whose stamp did not change since the last full sync reuses the test read at that time instead of parsing it again.
+ * A missing or unreadable index is treated as empty, so the next full sync parses every test.
+ */
+class UftTestDiscoveryIndex {
+    private static final Logger logger = SDKBasedLoggerProvider.getLogger(UftTestDiscoveryIndex.class);
+    private static final String INDEX_TESTS_FILE = "uft_discovery_index.json";
+    private static final String INDEX_STAMPS_FILE = "uft_discovery_index.properties";
+    private static final char STAMP_SEPARATOR = '|';
+
+    private final File rootDir;
+    private final File indexDir;
+    private final Map<String, IndexedTest> indexedTests;
+    private final List<AutomatedTest> discoveredTests = new ArrayList<>();
+    private final List<String> discoveredFolders = new ArrayList<>();
+    private final List<String> discoveredStamps = new ArrayList<>();
+    private int reusedTests;
+
+    private UftTestDiscoveryIndex(File rootDir, File indexDir, Map<String, IndexedTest> indexedTests) {
+        this.rootDir = rootDir;
+        this.indexDir = indexDir;
+        this.indexedTests = indexedTests;
+    }
+
+    static UftTestDiscoveryIndex load(File rootDir) {
+        Map<String, IndexedTest> indexedTests = new HashMap<>();
+        File indexDir = getIndexDir(rootDir);
+        File testsFile = new File(indexDir, INDEX_TESTS_FILE);
+        File stampsFile = new File(indexDir, INDEX_STAMPS_FILE);
+        if (testsFile.exists() && stampsFile.exists()) {
+            try (InputStream is = new FileInputStream(stampsFile)) {
+                Properties stamps = new Properties();
+                stamps.load(is);
+                List<AutomatedTest> tests = UftTestDiscoveryResult.readFromFile(testsFile).getAllTests();
+                for (String folder : stamps.stringPropertyNames()) {
+                    String value = stamps.getProperty(folder);
+                    int separatorIndex = value.indexOf(STAMP_SEPARATOR);
+                    int position = Integer.parseInt(value.substring(0, separatorIndex));
+                    indexedTests.put(folder, new IndexedTest(value.substring(separatorIndex + 1), tests.get(position)));
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to read UFT discovery index, all tests will be parsed : " + e.getMessage());
+                indexedTests.clear();
+            }
+        }
+        return new UftTestDiscoveryIndex(rootDir, indexDir, indexedTests);
+    }
+
+    private static File getIndexDir(File rootDir) {
+        FilePath tempDir = WorkspaceList.tempDir(new FilePath(rootDir));
+        //workspace in the root of file system has no temporary folder
+        return tempDir != null ? new File(tempDir.getRemote()) : new File(rootDir, ".uft_discovery_index");
+    }
+
+    /**
+     * Same walk as UftTestDiscoveryUtils.doFullDiscovery, except that unchanged test folders are taken from the index
+     */
+    UftTestDiscoveryResult doFullDiscovery() {
+        UftTestDiscoveryResult result = new UftTestDiscoveryResult();
+        scanFileSystemRecursively(rootDir, result);
+        return result;
+    }
+
+    int getReusedTestsCount() {
+        return reusedTests;
+    }
+
+    void save() {
+        UftTestDiscoveryResult tests = new UftTestDiscoveryResult();
+        tests.getAllTests().addAll(discoveredTests);
+        Properties stamps = new Properties();
+        for (int i = 0; i < discoveredFolders.size(); i++) {
+            stamps.setProperty(discoveredFolders.get(i), Integer.toString(i) + STAMP_SEPARATOR + discoveredStamps.get(i));
+        }
+
+        if (!indexDir.isDirectory() && !indexDir.mkdirs()) {
+            logger.error("Failed to save UFT discovery index : failed to create folder " + indexDir);
+            return;
+        }
+
+        File stampsFile = new File(indexDir, INDEX_STAMPS_FILE);
+        try (OutputStream os = new FileOutputStream(stampsFile)) {
+            tests.writeToFile(new File(indexDir, INDEX_TESTS_FILE));
+            stamps.store(os, null);
+        } catch (Exception e) {
+            logger.error("Failed to save UFT discovery index : " + e.getMessage());
+            stampsFile.delete();
+        }
+    }
+
+    private void scanFileSystemRecursively(File dirPath, UftTestDiscoveryResult result) {
+        File[] paths = dirPath.isDirectory() ? dirPath.listFiles() : new File[]{dirPath};
+        if (paths == null) {
+            return;
+        }
+
+        //if it test folder - create new test, else drill down to subFolders
+        UftTestType testType = UftTestDiscoveryUtils.isUftTestFolder(paths);
+        if (!testType.isNone()) {
+            result.getAllTests().add(getTest(dirPath, paths, testType));
+        } else {
+            for (File path : paths) {
+                if (path.isDirectory()) {
+                    scanFileSystemRecursively(path, result);
+                } else if (UftTestDiscoveryUtils.isUftDataTableFile(path.getName())) {
+                    result.getAllScmResourceFiles().add(UftTestDiscoveryUtils.createDataTable(rootDir, path));
+                }
+            }
+        }
+    }
+
+    private AutomatedTest getTest(File testFolder, File[] paths, UftTestType testType) {
+        String folder = rootDir.toPath().relativize(testFolder.toPath()).toString();
+        String stamp = computeStamp(testType, paths);
+
+        AutomatedTest test;
+        IndexedTest indexed = indexedTests.get(folder);
+        if (indexed != null && indexed.stamp.equals(stamp)) {
+            test = indexed.test;
+            reusedTests++;
+        } else {
+            test = UftTestDiscoveryUtils.createAutomatedTest(rootDir, testFolder, testType);
+        }
+
+        discoveredTests.add(test);
+        discoveredFolders.add(folder);
+        discoveredStamps.add(stamp);
+        return test;
+    }
+
+    private static String computeStamp(UftTestType testType, File[] paths) {
+        Stamp stamp = new Stamp();
+        stamp.add("", paths);
+        return testType.name() + STAMP_SEPARATOR + stamp.count + STAMP_SEPARATOR + stamp.length + STAMP_SEPARATOR + stamp.lastModified + STAMP_SEPARATOR + stamp.nameHash;
+    }
+
+    /**
+     * Covers nested entries as well, since the scripts and resources of the actions are kept in subfolders of the test
+     */
+    private static class Stamp {
+        private int count;
+        private long length;
+        private long lastModified;
+        private int nameHash;
+
+        private void add(String parentPath, File[] paths) {
+            for (File path : paths) {
+                String relativePath = parentPath + path.getName();
+                count++;
+                lastModified = Math.max(lastModified, path.lastModified());
+                nameHash += relativePath.hashCode();
+                if (path.isDirectory()) {
+                    File[] children = path.listFiles();
+                    if (children != null) {
+                        add(relativePath + File.separator, children);
+                    }
+                } else {
+                    length += path.length();
+                }
+            }
+        }
+    }
+
+    private static class IndexedTest {
+        private final String stamp;
+        private final AutomatedTest test;
+
+        private IndexedTest(String stamp, AutomatedTest test) {
+            this.stamp = stamp;
+            this.test = test;
+        }
+    }
+}
@@ -43,4 +43,12 @@ public class UftTestDiscoveryQueue extends AbstractResultQueueImpl {
         File queueFile = new File(Jenkins.getInstanceOrNull().getRootDir(), "octane-uft-tests-queue.dat");
         init(queueFile);
     }
+
+    /**
+     * Ordered queue, failed item is retried with a growing delay before the items behind it
+     */
+    public UftTestDiscoveryQueue(File queueFile, int maxRetries) throws IOException {
+        super(maxRetries, true);
+        init(queueFile);
+    }
 }
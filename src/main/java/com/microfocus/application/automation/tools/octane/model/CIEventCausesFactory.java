@@ -43,15 +43,18 @@ import org.apache.logging.log4j.Logger;
 import org.jenkinsci.plugins.workflow.actions.LabelAction;
 import org.jenkinsci.plugins.workflow.cps.nodes.StepAtomNode;
 import org.jenkinsci.plugins.workflow.cps.nodes.StepEndNode;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Causes Factory is a collection of static stateless methods to extract/traverse/transform causes chains of the runs
+ * Causes Factory is a collection of static methods to extract/traverse/transform causes chains of the runs
+ * (the causes chains of pipeline stages are cached per flow execution)
  * User: gullery
  * Date: 20/10/14
  */
@@ -59,6 +62,7 @@ import java.util.*;
 public final class CIEventCausesFactory {
 	private static final Logger logger = SDKBasedLoggerProvider.getLogger(CIEventCausesFactory.class);
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
+	private static final Map<FlowExecution, Map<String, List<CIEventCause>>> stageCauses = new WeakHashMap<>();
 
 	private CIEventCausesFactory() {
 	}
@@ -132,44 +136,68 @@ public final class CIEventCausesFactory {
 	}
 
 	private static void processCauses(FlowNode flowNode, List<CIEventCause> causes, Set<FlowNode> startStagesToSkip) {
-		//  we reached the start of the flow - add WorkflowRun as an initial UPSTREAM cause
-		if (flowNode.getParents().isEmpty()) {
-			WorkflowRun parentRun = BuildHandlerUtils.extractParentRun(flowNode);
-			CIEventCause cause = dtoFactory.newDTO(CIEventCause.class)
-					.setType(CIEventCauseType.UPSTREAM)
-					.setProject(BuildHandlerUtils.getJobCiId(parentRun))
-					.setBuildCiId(BuildHandlerUtils.getBuildCiId(parentRun))
-					.setCauses(CIEventCausesFactory.processCauses((parentRun)));
-			causes.add(cause);
-		}
+		//  walk up iteratively while there is a single parent, recursion is left for the branches only
+		FlowNode current = flowNode;
+		while (current != null) {
+			List<FlowNode> parents = current.getParents();
+
+			//  we reached the start of the flow - add WorkflowRun as an initial UPSTREAM cause
+			if (parents.isEmpty()) {
+				WorkflowRun parentRun = BuildHandlerUtils.extractParentRun(current);
+				CIEventCause cause = dtoFactory.newDTO(CIEventCause.class)
+						.setType(CIEventCauseType.UPSTREAM)
+						.setProject(BuildHandlerUtils.getJobCiId(parentRun))
+						.setBuildCiId(BuildHandlerUtils.getBuildCiId(parentRun))
+						.setCauses(CIEventCausesFactory.processCauses((parentRun)));
+				causes.add(cause);
+			}
 
-		//  if we are calculating causes for the END STEP - exclude it's own START STEP from calculation
-		if (BuildHandlerUtils.isStageEndNode(flowNode)) {
-			startStagesToSkip.add(((StepEndNode) flowNode).getStartNode());
-		}
+			//  if we are calculating causes for the END STEP - exclude it's own START STEP from calculation
+			if (BuildHandlerUtils.isStageEndNode(current)) {
+				startStagesToSkip.add(((StepEndNode) current).getStartNode());
+			}
 
-		for (FlowNode parent : flowNode.getParents()) {
-			if (BuildHandlerUtils.isStageEndNode(parent)) {
-				startStagesToSkip.add(((StepEndNode) parent).getStartNode());
-				processCauses(parent, causes, startStagesToSkip);
-			} else if (BuildHandlerUtils.isStageStartNode(parent)) {
-				if (!startStagesToSkip.contains(parent)) {
+			FlowNode next = null;
+			for (FlowNode parent : parents) {
+				if (BuildHandlerUtils.isStageStartNode(parent) && !startStagesToSkip.contains(parent)) {
 					CIEventCause cause = dtoFactory.newDTO(CIEventCause.class)
 							.setType(CIEventCauseType.UPSTREAM)
 							.setProject(parent.getDisplayName())
 							.setBuildCiId(String.valueOf(BuildHandlerUtils.extractParentRun(parent).getNumber()));
+					cause.getCauses().addAll(getStageCauses(parent));
 					causes.add(cause);
-					processCauses(parent, cause.getCauses(), startStagesToSkip);
 				} else {
-					startStagesToSkip.remove(parent);
-					processCauses(parent, causes, startStagesToSkip);
+					if (BuildHandlerUtils.isStageStartNode(parent)) {
+						startStagesToSkip.remove(parent);
+					}
+					if (parents.size() == 1) {
+						next = parent;
+					} else {
+						processCauses(parent, causes, startStagesToSkip);
+					}
 				}
-			} else {
-				processCauses(parent, causes, startStagesToSkip);
 			}
+			current = next;
 		}
 	}
 
+	/**
+	 * The causes chain of a stage start node (its enclosing stages up to the run) never changes,
+	 * so it is computed once per stage and reused by the events of all the nodes inside the stage.
+	 */
+	private static List<CIEventCause> getStageCauses(FlowNode stageStartNode) {
+		Map<String, List<CIEventCause>> executionStageCauses;
+		synchronized (stageCauses) {
+			executionStageCauses = stageCauses.computeIfAbsent(stageStartNode.getExecution(), k -> new ConcurrentHashMap<>());
+		}
+		List<CIEventCause> causes = executionStageCauses.get(stageStartNode.getId());
+		if (causes == null) {
+			causes = Collections.unmodifiableList(processCauses(stageStartNode));
+			executionStageCauses.put(stageStartNode.getId(), causes);
+		}
+		return causes;
+	}
+
 	private static String resolveJobCiId(String jobPlainName) {
 		if (!jobPlainName.contains(",")) {
 			return BuildHandlerUtils.translateFolderJobName(jobPlainName);
@@ -51,7 +51,7 @@ public class ModelFactory {
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
 
 	public static PipelineNode createStructureItem(Job job) {
-		return createStructureItem(job, new HashSet<>());
+		return PipelineNodeCache.getStructure(job, () -> createStructureItem(job, new HashSet<>()));
 	}
 
 	public static PipelinePhase createStructurePhase(String name, boolean blocking, List<AbstractProject> items, Set<Job> processedJobs) {
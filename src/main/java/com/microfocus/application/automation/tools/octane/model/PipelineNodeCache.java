@@ -0,0 +1,149 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.octane.model;
+
+import com.hp.octane.integrations.dto.pipelines.PipelineNode;
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Saveable;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import jenkins.model.Jenkins;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the pipeline nodes built for Octane: the job nodes of the jobs list and the jobs structures.
+ * Building them runs the parameter and project processors of every job, so they are kept until an item
+ * of Jenkins is created, saved, renamed or deleted (a change of one job can change the upstream flags and
+ * structures of others), or until the job list cache is cleared.
+ * Saving is tracked rather than item updates, since properties and parameters set by a pipeline
+ * (for example by the properties step) are only saved, without an item update event.
+ * The cached nodes are shared and must not be modified, callers only serialize them.
+ */
+public final class PipelineNodeCache {
+	private static final Logger logger = SDKBasedLoggerProvider.getLogger(PipelineNodeCache.class);
+
+	private static final int STRUCTURES_CACHE_SIZE = 1000;
+
+	private static final Map<String, PipelineNode> jobNodes = new ConcurrentHashMap<>();
+	//structures of the recently requested jobs, kept per user
+	private static final Map<String, PipelineNode> structures = Collections.synchronizedMap(new LinkedHashMap<String, PipelineNode>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PipelineNode> eldest) {
+			return size() > STRUCTURES_CACHE_SIZE;
+		}
+	});
+	//changed by every clear, so a node built before the clear is not cached after it
+	private static final AtomicLong generation = new AtomicLong();
+
+	private PipelineNodeCache() {
+	}
+
+	public static PipelineNode getJobNode(Job job, boolean includeParameters, Supplier<PipelineNode> factory) {
+		return get(jobNodes, includeParameters + "|" + job.getFullName(), factory);
+	}
+
+	/**
+	 * The structure may include other jobs, so it is kept per user: what is visible depends on the permissions.
+	 */
+	public static PipelineNode getStructure(Job job, Supplier<PipelineNode> factory) {
+		return get(structures, Jenkins.getAuthentication().getName() + "|" + job.getFullName(), factory);
+	}
+
+	public static void clear() {
+		generation.incrementAndGet();
+		jobNodes.clear();
+		structures.clear();
+	}
+
+	private static PipelineNode get(Map<String, PipelineNode> cache, String key, Supplier<PipelineNode> factory) {
+		PipelineNode node = cache.get(key);
+		if (node == null) {
+			long buildGeneration = generation.get();
+			node = factory.get();
+			if (generation.get() == buildGeneration) {
+				cache.put(key, node);
+				//cleared between the check and the put
+				if (generation.get() != buildGeneration) {
+					cache.remove(key, node);
+				}
+			}
+		}
+		return node;
+	}
+
+	private static void clearOnChange(Item item) {
+		//cleared also when empty, a node may be being built right now
+		if (!jobNodes.isEmpty() || !structures.isEmpty()) {
+			logger.debug("clearing pipeline nodes cache on change of " + item.getFullName());
+		}
+		clear();
+	}
+
+	@Extension
+	public static final class ItemListenerImpl extends ItemListener {
+
+		@Override
+		public void onCreated(Item item) {
+			clearOnChange(item);
+		}
+
+		@Override
+		public void onDeleted(Item item) {
+			clearOnChange(item);
+		}
+
+		@Override
+		public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+			clearOnChange(item);
+		}
+	}
+
+	@Extension
+	public static final class SaveableListenerImpl extends SaveableListener {
+
+		@Override
+		public void onChange(Saveable o, XmlFile file) {
+			if (o instanceof Item) {
+				clearOnChange((Item) o);
+			}
+		}
+	}
+}
@@ -73,6 +73,10 @@ import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Created by gullery on 31/03/2015.
@@ -82,6 +86,16 @@ class GitSCMProcessor implements SCMProcessor {
 	private static final Logger logger = SDKBasedLoggerProvider.getLogger(GitSCMProcessor.class);
 	private static final DTOFactory dtoFactory = DTOFactory.getInstance();
 	private static final String MASTER = "refs/remotes/origin/master";
+	private static final int BLAME_MAX_THREADS = 4;
+	private static final int BLAME_CACHE_SIZE = 5000;
+
+	//blame results of the agent's recent builds, by start commit and file
+	private static final Map<String, RevisionsMap> blameCache = new LinkedHashMap<String, RevisionsMap>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, RevisionsMap> eldest) {
+			return size() > BLAME_CACHE_SIZE;
+		}
+	};
 
 	@Override
 	public SCMData getSCMData(AbstractBuild build, SCM scm) {
@@ -430,44 +444,83 @@ class GitSCMProcessor implements SCMProcessor {
 	}
 
 	private static List<SCMFileBlame> getBlameData(Repository repo, Set<String> files) {
-		BlameCommand blamer = new BlameCommand(repo);
 		List<SCMFileBlame> fileBlameList = new ArrayList<>();
+		if (files.isEmpty()) {
+			return fileBlameList;
+		}
 		ObjectId commitID;
 		try {
 			commitID = repo.resolve(Constants.HEAD);
+		} catch (IOException e) {
+			logger.error("failed to resolve repo head", e);
+			return fileBlameList;
+		}
+
+		//blame of each file walks the history on its own, so the files are blamed in parallel
+		int threads = Math.min(files.size(), Math.min(BLAME_MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+		ExecutorService blameExecutor = Executors.newFixedThreadPool(Math.max(1, threads));
+		try {
+			List<Future<SCMFileBlame>> futures = new ArrayList<>();
 			for (String filePath : files) {
-				blamer.setStartCommit(commitID);
-				blamer.setFilePath(filePath);
-				BlameResult blameResult = blamer.call();
-				if (blameResult == null) {
-					continue;
+				futures.add(blameExecutor.submit(() -> getFileBlame(repo, commitID, filePath)));
+			}
+			for (Future<SCMFileBlame> future : futures) {
+				SCMFileBlame fileBlame = future.get();
+				if (fileBlame != null) {
+					fileBlameList.add(fileBlame);
 				}
-				RawText rawText = blameResult.getResultContents();
-				int fileSize = rawText.size();
-
-				RevisionsMap revisionsMap = new RevisionsMap();
-
-				if (fileSize > 0) {
-					String startRangeRevision = blameResult.getSourceCommit(0).getName();
-					int startRange = 1;
-					for (int i = 1; i < fileSize; i++) {
-						String currentRevision = blameResult.getSourceCommit(i).getName();
-						if (!currentRevision.equals(startRangeRevision)) {
-							LineRange range = new LineRange(startRange, i);//line numbers starting from 1 not from 0.
-							revisionsMap.addRangeToRevision(startRangeRevision, range);
-							startRange = i + 1;
-							startRangeRevision = currentRevision;
-						}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("interrupted while getting blame results", e);
+		} catch (ExecutionException e) {
+			logger.error("failed to get blame result from git", e.getCause());
+		} finally {
+			blameExecutor.shutdownNow();
+		}
+		return fileBlameList;
+	}
+
+	private static SCMFileBlame getFileBlame(Repository repo, ObjectId commitID, String filePath) throws GitAPIException {
+		//the blame of a file is fully defined by the start commit, so rebuilding the same revision reuses it
+		String cacheKey = (commitID == null ? "" : commitID.getName()) + ":" + filePath;
+		RevisionsMap revisionsMap;
+		synchronized (blameCache) {
+			revisionsMap = blameCache.get(cacheKey);
+		}
+		if (revisionsMap == null) {
+			BlameCommand blamer = new BlameCommand(repo);
+			blamer.setStartCommit(commitID);
+			blamer.setFilePath(filePath);
+			BlameResult blameResult = blamer.call();
+			if (blameResult == null) {
+				return null;
+			}
+			RawText rawText = blameResult.getResultContents();
+			int fileSize = rawText.size();
+
+			revisionsMap = new RevisionsMap();
+
+			if (fileSize > 0) {
+				String startRangeRevision = blameResult.getSourceCommit(0).getName();
+				int startRange = 1;
+				for (int i = 1; i < fileSize; i++) {
+					String currentRevision = blameResult.getSourceCommit(i).getName();
+					if (!currentRevision.equals(startRangeRevision)) {
+						LineRange range = new LineRange(startRange, i);//line numbers starting from 1 not from 0.
+						revisionsMap.addRangeToRevision(startRangeRevision, range);
+						startRange = i + 1;
+						startRangeRevision = currentRevision;
 					}
 				}
-				fileBlameList.add(new SCMFileBlameImpl(filePath, revisionsMap));
 			}
-		} catch (IOException e) {
-			logger.error("failed to resolve repo head", e);
-		} catch (GitAPIException e) {
-			logger.error("failed to get blame result from git", e);
+			if (commitID != null) {
+				synchronized (blameCache) {
+					blameCache.put(cacheKey, revisionsMap);
+				}
+			}
 		}
-		return fileBlameList;
+		return new SCMFileBlameImpl(filePath, revisionsMap);
 	}
 
 	private static void handleModifyDiff(EditList fileEdits, SCMChange scmChange) {
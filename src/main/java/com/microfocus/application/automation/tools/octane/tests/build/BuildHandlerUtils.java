@@ -58,9 +58,12 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Generic utilities handling Job/Run metadata extraction/transformation/processing
@@ -69,6 +72,7 @@ import java.util.Set;
 public class BuildHandlerUtils {
 	private static final Logger logger = SDKBasedLoggerProvider.getLogger(BuildHandlerUtils.class);
 	public static final String JOB_LEVEL_SEPARATOR = "/job/";
+	private static final Map<FlowExecution, WorkspaceNode> workspaceNodes = Collections.synchronizedMap(new WeakHashMap<>());
 
 	public static BuildDescriptor getBuildType(Run<?, ?> run) {
 		for (BuildHandlerExtension ext : BuildHandlerExtension.all()) {
@@ -104,16 +108,13 @@ public class BuildHandlerUtils {
 		if (run instanceof WorkflowRun) {
 			FlowExecution fe = ((WorkflowRun) run).getExecution();
 			if (fe != null) {
-				FlowGraphWalker w = new FlowGraphWalker(fe);
-				for (FlowNode n : w) {
-					WorkspaceAction action = n.getAction(WorkspaceAction.class);
-					if (action != null) {
-						FilePath workspace = action.getWorkspace();
-						if (workspace == null) {
-							workspace = handleWorkspaceActionWithoutWorkspace(action);
-						}
-						return workspace;
+				WorkspaceAction action = findWorkspaceAction(fe);
+				if (action != null) {
+					FilePath workspace = action.getWorkspace();
+					if (workspace == null) {
+						workspace = handleWorkspaceActionWithoutWorkspace(action);
 					}
+					return workspace;
 				}
 			}
 		}
@@ -122,6 +123,53 @@ public class BuildHandlerUtils {
 		return null;
 	}
 
+	/**
+	 * Walking the whole graph is costly on big pipelines and getWorkspace is called several times per build,
+	 * so the node found is remembered for as long as the flow heads don't change.
+	 */
+	private static WorkspaceAction findWorkspaceAction(FlowExecution fe) {
+		String headsKey = getHeadsKey(fe);
+		WorkspaceNode cached = workspaceNodes.get(fe);
+		if (cached != null && cached.headsKey.equals(headsKey)) {
+			try {
+				FlowNode node = fe.getNode(cached.nodeId);
+				if (node != null) {
+					return node.getAction(WorkspaceAction.class);
+				}
+			} catch (IOException e) {
+				logger.warn("Failed to load flow node " + cached.nodeId + ", looking for the workspace again", e);
+			}
+		}
+
+		FlowGraphWalker w = new FlowGraphWalker(fe);
+		for (FlowNode n : w) {
+			WorkspaceAction action = n.getAction(WorkspaceAction.class);
+			if (action != null) {
+				workspaceNodes.put(fe, new WorkspaceNode(headsKey, n.getId()));
+				return action;
+			}
+		}
+		return null;
+	}
+
+	private static String getHeadsKey(FlowExecution fe) {
+		StringBuilder key = new StringBuilder();
+		for (FlowNode head : fe.getCurrentHeads()) {
+			key.append(head.getId()).append(',');
+		}
+		return key.toString();
+	}
+
+	private static final class WorkspaceNode {
+		private final String headsKey;
+		private final String nodeId;
+
+		private WorkspaceNode(String headsKey, String nodeId) {
+			this.headsKey = headsKey;
+			this.nodeId = nodeId;
+		}
+	}
+
 	private static FilePath handleWorkspaceActionWithoutWorkspace(WorkspaceAction action) {
 		logger.error("Found WorkspaceAction without workspace");
 		logger.warn("Node getPath = " + action.getPath());
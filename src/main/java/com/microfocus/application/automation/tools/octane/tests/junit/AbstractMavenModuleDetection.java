@@ -33,14 +33,21 @@ import hudson.FilePath;
 import hudson.model.Run;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public abstract class AbstractMavenModuleDetection implements ModuleDetection {
 
     protected FilePath rootDir;
     protected List<FilePath> pomDirs;
 
+    // result files of a build are grouped in few directories, so both the module of a directory
+    // and the pom existence checks of its ancestors are remembered for the rest of the build
+    private transient Map<String, String> modulesByDirectory;
+    private transient Map<String, Boolean> pomExistence;
+
     public AbstractMavenModuleDetection(Run build) {
         rootDir = BuildHandlerUtils.getWorkspace(build);
         pomDirs = new LinkedList<>();
@@ -52,6 +59,21 @@ public abstract class AbstractMavenModuleDetection implements ModuleDetection {
 
     @Override
     public String getModule(FilePath resultFile) throws IOException, InterruptedException {
+        FilePath resultDir = resultFile.getParent();
+        if (resultDir == null) {
+            return findModule(resultFile);
+        }
+        if (modulesByDirectory == null) {
+            modulesByDirectory = new HashMap<>();
+        }
+        String directory = resultDir.getRemote();
+        if (!modulesByDirectory.containsKey(directory)) {
+            modulesByDirectory.put(directory, findModule(resultFile));
+        }
+        return modulesByDirectory.get(directory);
+    }
+
+    private String findModule(FilePath resultFile) throws IOException, InterruptedException {
         for (FilePath pomDir: pomDirs) {
             if (childOf(pomDir, resultFile)) {
                 return normalize(locatePom(resultFile, pomDir));
@@ -83,8 +105,7 @@ public abstract class AbstractMavenModuleDetection implements ModuleDetection {
                 // walk up as far as the enclosing pom directory
                 break;
             }
-            FilePath pomPath = new FilePath(parentPath, "pom.xml");
-            if (pomPath.exists()) {
+            if (hasPom(parentPath)) {
                 // we found a nested pom directory
                 return parentPath.getRemote().substring(rootDir.getRemote().length());
             }
@@ -94,6 +115,18 @@ public abstract class AbstractMavenModuleDetection implements ModuleDetection {
         return pomDir.getRemote().substring(rootDir.getRemote().length());
     }
 
+    private boolean hasPom(FilePath dir) throws IOException, InterruptedException {
+        if (pomExistence == null) {
+            pomExistence = new HashMap<>();
+        }
+        Boolean exists = pomExistence.get(dir.getRemote());
+        if (exists == null) {
+            exists = new FilePath(dir, "pom.xml").exists();
+            pomExistence.put(dir.getRemote(), exists);
+        }
+        return exists;
+    }
+
     private String normalize(String path) {
         return path.replace("\\", "/").replaceFirst("^/", "");
     }
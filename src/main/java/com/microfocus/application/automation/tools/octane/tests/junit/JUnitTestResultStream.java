@@ -0,0 +1,195 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.octane.tests.junit;
+
+import com.hp.octane.integrations.testresults.XmlWritableTestResult;
+import com.microfocus.application.automation.tools.octane.configuration.SDKBasedLoggerProvider;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact record format for passing {@link JUnitTestResult}s from the agent to the master.
+ * Every record starts with a marker byte followed by the test fields, strings are length prefixed UTF-8.
+ * It replaces java serialization, which costs a lot of CPU and memory on big test suites.
+ */
+public final class JUnitTestResultStream {
+	private static Logger logger = SDKBasedLoggerProvider.getLogger(JUnitTestResultStream.class);
+
+	private static final int VERSION = 1;
+	private static final byte RECORD = 1;
+	private static final byte END = 0;
+	private static final int NULL_LENGTH = -1;
+
+	private JUnitTestResultStream() {
+	}
+
+	public static final class Writer implements Closeable {
+		private final DataOutputStream out;
+
+		public Writer(OutputStream out) throws IOException {
+			this.out = new DataOutputStream(new BufferedOutputStream(out));
+			this.out.writeInt(VERSION);
+		}
+
+		public void write(JUnitTestResult testResult) throws IOException {
+			out.writeByte(RECORD);
+			writeString(testResult.getModuleName());
+			writeString(testResult.getPackageName());
+			writeString(testResult.getClassName());
+			writeString(testResult.getTestName());
+			writeString(testResult.getDescription());
+			out.writeByte(testResult.getResult().ordinal());
+			out.writeLong(testResult.getDuration());
+			out.writeLong(testResult.getStarted());
+			writeString(testResult.getExternalReportUrl());
+			TestError testError = testResult.getTestError();
+			out.writeBoolean(testError != null);
+			if (testError != null) {
+				writeString(testError.getStackTraceStr());
+				writeString(testError.getErrorType());
+				writeString(testError.getErrorMsg());
+			}
+		}
+
+		private void writeString(String value) throws IOException {
+			if (value == null) {
+				out.writeInt(NULL_LENGTH);
+			} else {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.writeByte(END);
+			out.close();
+		}
+	}
+
+	public static final class Reader implements Iterator<XmlWritableTestResult>, Closeable {
+		private final DataInputStream in;
+		private JUnitTestResult next;
+		private boolean finished;
+
+		public Reader(InputStream in) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(in));
+			int version = this.in.readInt();
+			if (version != VERSION) {
+				close();
+				throw new IOException("Unsupported test results stream version " + version);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next != null) {
+				return true;
+			}
+			if (finished) {
+				return false;
+			}
+			try {
+				if (in.readByte() == RECORD) {
+					next = read();
+					return true;
+				}
+			} catch (IOException e) {
+				logger.error("Failed to read test results stream", e); // NON-NLS
+			}
+			finished = true;
+			closeQuietly();
+			return false;
+		}
+
+		@Override
+		public XmlWritableTestResult next() {
+			if (hasNext()) {
+				JUnitTestResult value = next;
+				next = null;
+				return value;
+			} else {
+				throw new NoSuchElementException();
+			}
+		}
+
+		private JUnitTestResult read() throws IOException {
+			String moduleName = readString();
+			String packageName = readString();
+			String className = readString();
+			String testName = readString();
+			String description = readString();
+			TestResultStatus result = TestResultStatus.values()[in.readByte()];
+			long duration = in.readLong();
+			long started = in.readLong();
+			String externalReportUrl = readString();
+			TestError testError = null;
+			if (in.readBoolean()) {
+				testError = new TestError(readString(), readString(), readString());
+			}
+			return new JUnitTestResult(moduleName, packageName, className, testName, result, duration, started, testError, externalReportUrl, description);
+		}
+
+		private String readString() throws IOException {
+			int length = in.readInt();
+			if (length == NULL_LENGTH) {
+				return null;
+			}
+			byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private void closeQuietly() {
+			try {
+				close();
+			} catch (IOException ioe) {
+				logger.error("Failed to close the stream", ioe); // NON-NLS
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+}
@@ -36,23 +36,26 @@ import com.microfocus.application.automation.tools.octane.configuration.SDKBased
 import com.microfocus.application.automation.tools.octane.tests.HPRunnerType;
 import com.microfocus.application.automation.tools.octane.tests.xml.AbstractXmlIterator;
 import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.Logger;
 
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Characters;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 /**
  * JUnit result parser and enricher according to HPRunnerType
@@ -83,6 +86,9 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 	private String sharedCheckOutDirectory;
 	private Object additionalContext;
 	private String filePath;
+	private UftReportFolders reportFolders;
+	private final List<String[]> testReportMarkers = new ArrayList<>();
+	private final Map<String, String> stormRunnerReportUrls = new HashMap<>();
 	public static final String SRL_REPORT_URL = "reportUrl";
 
 	public JUnitXmlIterator(InputStream read, List<ModuleDetection> moduleDetection, FilePath workspace, String sharedCheckOutDirectory, String jobName, String buildId, long buildStarted, boolean stripPackageAndClass, HPRunnerType hpRunnerType, String jenkinsRootUrl, Object additionalContext) throws XMLStreamException {
@@ -97,6 +103,38 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 		this.hpRunnerType = hpRunnerType;
 		this.jenkinsRootUrl = jenkinsRootUrl;
 		this.additionalContext = additionalContext;
+		if (additionalContext instanceof UftReportFolders) {
+			this.reportFolders = (UftReportFolders) additionalContext;
+		} else if (HPRunnerType.UFT.equals(hpRunnerType) && additionalContext instanceof List) {
+			this.reportFolders = new UftReportFolders((List<String>) additionalContext);
+		}
+	}
+
+	/**
+	 * Creates the "build[id].[test]." marker files of the UFT tests read so far in the workspace, in a single call.
+	 */
+	public void createTestReportMarkers() throws IOException, InterruptedException {
+		if (!testReportMarkers.isEmpty()) {
+			workspace.act(new CreateTextTempFiles(new ArrayList<>(testReportMarkers)));
+			testReportMarkers.clear();
+		}
+	}
+
+	private static final class CreateTextTempFiles extends MasterToSlaveFileCallable<Void> {
+		private final List<String[]> files;
+
+		private CreateTextTempFiles(List<String[]> files) {
+			this.files = files;
+		}
+
+		@Override
+		public Void invoke(File dir, VirtualChannel channel) throws IOException {
+			for (String[] file : files) {
+				File tempFile = File.createTempFile(file[0], "", dir);
+				Files.write(tempFile.toPath(), file[1].getBytes(StandardCharsets.UTF_8));
+			}
+			return null;
+		}
 	}
 
 	private static long parseTime(String timeString) {
@@ -115,10 +153,9 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 	}
 
 	@Override
-	protected void onEvent(XMLEvent event) throws XMLStreamException, IOException, InterruptedException {
-		if (event instanceof StartElement) {
-			StartElement element = (StartElement) event;
-			String localName = element.getName().getLocalPart();
+	protected void onEvent(int eventType) throws XMLStreamException, IOException, InterruptedException {
+		if (eventType == XMLStreamConstants.START_ELEMENT) {
+			String localName = reader.getLocalName();
 			if ("file".equals(localName)) {  // NON-NLS
 				filePath = readNextValue();
 				for (ModuleDetection detection : moduleDetection) {
@@ -204,21 +241,18 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 
 					String cleanedTestName = cleanTestName(testName);
 					boolean testReportCreated = true;
-					if (additionalContext != null && additionalContext instanceof List) {
+					if (reportFolders != null) {
 						//test folders are appear in the following format GUITest1[1], while [1] number of test. It possible that tests with the same name executed in the same job
 						//by adding [1] or [2] we can differentiate between different instances.
-						//We assume that test folders are sorted so in this section, once we found the test folder, we remove it from collection , in order to find the second instance in next iteration
-						List<String> createdTests = (List<String>) additionalContext;
-						String searchFor = cleanedTestName + "[";
-						Optional<String> optional = createdTests.stream().filter(str -> str.startsWith(searchFor)).findFirst();
-						if (optional.isPresent()) {
-							cleanedTestName = optional.get();
-							createdTests.remove(cleanedTestName);
+						//once we found the test folder it is taken, in order to find the second instance in next iteration
+						String reportFolder = reportFolders.take(cleanedTestName);
+						if (reportFolder != null) {
+							cleanedTestName = reportFolder;
 						}
-						testReportCreated = optional.isPresent();
+						testReportCreated = reportFolder != null;
 					}
 
-					workspace.createTextTempFile("build" + buildId + "." + cleanTestName(testName) + ".", "", "Created  " + testReportCreated);
+					testReportMarkers.add(new String[]{"build" + buildId + "." + cleanTestName(testName) + ".", "Created  " + testReportCreated});
 					if (testReportCreated) {
 						externalURL = jenkinsRootUrl + "job/" + jobName + "/" + buildId + "/artifact/UFTReport/" + cleanedTestName + "/run_results.html";
 					} else {
@@ -228,7 +262,11 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 				} else if (hpRunnerType.equals(HPRunnerType.PerformanceCenter)) {
 					externalURL = jenkinsRootUrl + "job/" + jobName + "/" + buildId + "/artifact/performanceTestsReports/pcRun/Report.html";
 				} else if (hpRunnerType.equals(HPRunnerType.StormRunnerLoad)) {
-					externalURL = tryGetStormRunnerReportURLFromJunitFile(filePath);
+					// all the cases of a junit file share its report url
+					if (!stormRunnerReportUrls.containsKey(filePath)) {
+						stormRunnerReportUrls.put(filePath, tryGetStormRunnerReportURLFromJunitFile(filePath));
+					}
+					externalURL = stormRunnerReportUrls.get(filePath);
 					if (StringUtils.isEmpty(externalURL) && additionalContext != null && additionalContext instanceof Collection) {
 						externalURL = tryGetStormRunnerReportURLFromLog((Collection) additionalContext);
 					}
@@ -245,13 +283,10 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 				}
 			} else if ("errorStackTrace".equals(localName)) { // NON-NLS
 				status = TestResultStatus.FAILED;
-				stackTraceStr = "";
-				if (peek() instanceof Characters) {
-					stackTraceStr = readNextValue();
-					int index = stackTraceStr.indexOf("at ");
-					if (index >= 0) {
-						errorType = stackTraceStr.substring(0, index);
-					}
+				stackTraceStr = readNextValue();
+				int index = stackTraceStr.indexOf("at ");
+				if (index >= 0) {
+					errorType = stackTraceStr.substring(0, index);
 				}
 			} else if ("errorDetails".equals(localName)) { // NON-NLS
 				status = TestResultStatus.FAILED;
@@ -262,9 +297,8 @@ public class JUnitXmlIterator extends AbstractXmlIterator<JUnitTestResult> {
 				}
 
 			}
-		} else if (event instanceof EndElement) {
-			EndElement element = (EndElement) event;
-			String localName = element.getName().getLocalPart();
+		} else if (eventType == XMLStreamConstants.END_ELEMENT) {
+			String localName = reader.getLocalName();
 
 			if ("case".equals(localName)) { // NON-NLS
 				TestError testError = new TestError(stackTraceStr, errorType, errorMsg);
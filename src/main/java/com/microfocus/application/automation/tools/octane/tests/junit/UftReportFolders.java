@@ -0,0 +1,73 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.octane.tests.junit;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Report folders created by UFT for a build, indexed by test name.
+ * Folders appear as GUITest1[1], GUITest1[2]... when a test runs more than once in the same job,
+ * every folder is handed out once, in the order of the original list.
+ */
+final class UftReportFolders {
+	private final Map<String, Deque<String>> foldersByTestName = new HashMap<>();
+	private final Set<String> taken = new HashSet<>();
+
+	UftReportFolders(List<String> folderNames) {
+		for (String folderName : folderNames) {
+			// index the folder under every prefix ending before a '[', same as matching with startsWith(testName + "[")
+			for (int i = folderName.indexOf('['); i >= 0; i = folderName.indexOf('[', i + 1)) {
+				foldersByTestName.computeIfAbsent(folderName.substring(0, i), k -> new ArrayDeque<>()).add(folderName);
+			}
+		}
+	}
+
+	/**
+	 * @return the first folder of the test that wasn't taken yet, or null if there is none
+	 */
+	String take(String testName) {
+		Deque<String> folders = foldersByTestName.get(testName);
+		if (folders != null) {
+			while (!folders.isEmpty()) {
+				String folder = folders.poll();
+				if (taken.add(folder)) {
+					return folder;
+				}
+			}
+		}
+		return null;
+	}
+}
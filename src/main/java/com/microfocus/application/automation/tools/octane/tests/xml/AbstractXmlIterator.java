@@ -30,38 +30,40 @@ package com.microfocus.application.automation.tools.octane.tests.xml;
 
 import org.apache.commons.io.IOUtils;
 
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Characters;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.NoSuchElementException;
 
+/**
+ * Base of the pull iterators over test result XML files.
+ * The file is walked with a cursor ({@link XMLStreamReader}), so no object is allocated per XML event,
+ * and the items built by the subclass on {@link #onEvent(int)} are handed out in order.
+ */
 public abstract class AbstractXmlIterator<E> {
 
+    // configured once, XMLInputFactory is safe to share for creating readers
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
     private InputStream is;
-    protected XMLEventReader reader;
-    private LinkedList<E> queue;
+    protected XMLStreamReader reader;
+    private Deque<E> queue;
     private boolean closed;
 
     public AbstractXmlIterator(InputStream is) throws XMLStreamException {
         this.is = is;
-        reader = createXmlInputFactory().createXMLEventReader(is);
-        queue = new LinkedList<>();
-    }
-
-    public XMLEvent peek() throws XMLStreamException {
-        return reader.peek();
+        reader = xmlInputFactory.createXMLStreamReader(is);
+        queue = new ArrayDeque<>();
     }
 
     public boolean hasNext() throws XMLStreamException, IOException, InterruptedException {
         while (queue.isEmpty() && !closed) {
             if (reader.hasNext()) {
-                onEvent(reader.nextEvent());
+                onEvent(reader.next());
             } else {
                 try {
                     reader.close();
@@ -83,25 +85,32 @@ public abstract class AbstractXmlIterator<E> {
         }
     }
 
-    protected abstract void onEvent(XMLEvent event) throws XMLStreamException, IOException, InterruptedException;
+    /**
+     * Called for every event of the document, with the reader positioned on it.
+     *
+     * @param eventType one of the {@link javax.xml.stream.XMLStreamConstants} event types
+     */
+    protected abstract void onEvent(int eventType) throws XMLStreamException, IOException, InterruptedException;
 
     protected void addItem(E item) {
         queue.add(item);
     }
 
+    /**
+     * Reads the whole text of the current element, which must be a text only element.
+     * Leaves the reader on the element's end, so that end isn't passed to {@link #onEvent(int)}.
+     *
+     * @return the element's text, empty string for an empty element
+     */
     protected String readNextValue() throws XMLStreamException {
-        XMLEvent nextEvent = reader.nextEvent();
-        if(nextEvent instanceof EndElement){
-            return "";
-        } else {
-            return ((Characters)nextEvent).getData();
-        }
+        return reader.getElementText();
     }
 
     private static XMLInputFactory createXmlInputFactory() {
         XMLInputFactory xmlFactory = XMLInputFactory.newInstance();
         xmlFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
         xmlFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
         return xmlFactory;
     }
 }
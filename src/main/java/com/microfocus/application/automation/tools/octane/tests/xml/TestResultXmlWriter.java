@@ -41,6 +41,7 @@ import org.apache.commons.lang.StringUtils;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Iterator;
@@ -51,6 +52,8 @@ import java.util.Iterator;
 @SuppressWarnings("all")
 public class TestResultXmlWriter {
 
+	private static final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
 	private FilePath targetPath;
 	private BuildDescriptor buildDescriptor;
 
@@ -92,8 +95,8 @@ public class TestResultXmlWriter {
 
 	private void initialize(ResultFields resultFields) throws IOException, InterruptedException, XMLStreamException {
 		if (outputStream == null) {
-			outputStream = targetPath.write();
-			writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream);
+			outputStream = new BufferedOutputStream(targetPath.write());
+			writer = xmlOutputFactory.createXMLStreamWriter(outputStream);
 			writer.writeStartDocument();
 
 			writer.writeStartElement("test_result");
@@ -35,7 +35,9 @@
 package com.microfocus.application.automation.tools.pc;
 
 import com.cloudbees.plugins.credentials.common.UsernamePasswordCredentials;
+import com.microfocus.application.automation.tools.common.AdaptivePoller;
 import com.microfocus.application.automation.tools.pc.helper.DateFormatter;
+import com.microfocus.application.automation.tools.pc.helper.TrendReportIndex;
 import com.microfocus.application.automation.tools.run.PcBuilder;
 import hudson.FilePath;
 
@@ -381,62 +383,65 @@ public class PcClient {
         PcRunResponse response = null;
         RunState lastState = RunState.UNDEFINED;
         int threeStrikes = 3;
-        do {
-            try {
+        try (AdaptivePoller poller = new AdaptivePoller(interval)) {
+            do {
+                try {
 
-                if (threeStrikes < 3) {
-                    logger.println(String.format("%s - Cannot get response from LRE about the state of the Run (ID=%s) %s time(s) consecutively",
-                            dateFormatter.getDate(),
-                            runId,
-                            (3 - threeStrikes)));
-                    if(threeStrikes==0) {
-                        logger.println(String.format("%s - %s: %s",
+                    if (threeStrikes < 3) {
+                        logger.println(String.format("%s - Cannot get response from LRE about the state of the Run (ID=%s) %s time(s) consecutively",
                                 dateFormatter.getDate(),
-                                Messages.StoppingMonitoringOnRun(),
-                                runId));
-                        break;
+                                runId,
+                                (3 - threeStrikes)));
+                        if(threeStrikes==0) {
+                            logger.println(String.format("%s - %s: %s",
+                                    dateFormatter.getDate(),
+                                    Messages.StoppingMonitoringOnRun(),
+                                    runId));
+                            break;
+                        }
+                        poller.await(poller.onFailure());
+                        login();
                     }
-                    Thread.sleep(2000);
-                    login();
-                }
-                response = restProxy.getRunData(runId);
-                RunState currentState = RunState.get(response.getRunState());
-                if (lastState.ordinal() < currentState.ordinal()) {
-                    lastState = currentState;
-                    logger.println(String.format("%s - RunID: %s - State = %s",
-                            dateFormatter.getDate(),
-                            runId,
-                            currentState.value()));
-                }
-
-                // In case we are in state before collate or before analyze, we will wait 1 minute for the state to change otherwise we exit
-                // because the user probably stopped the run from LRE or timeslot has reached the end.
-                if (Arrays.asList(states).contains(currentState)) {
-                    counter++;
-                    Thread.sleep(1000);
-                    if (counter > 60) {
-                        logger.println(String.format("%s - Run ID: %s  - %s = %s",
+                    response = restProxy.getRunData(runId);
+                    RunState currentState = RunState.get(response.getRunState());
+                    boolean stateChanged = lastState.ordinal() < currentState.ordinal();
+                    if (stateChanged) {
+                        lastState = currentState;
+                        logger.println(String.format("%s - RunID: %s - State = %s",
                                 dateFormatter.getDate(),
                                 runId,
-                                Messages.StoppedFromPC(),
                                 currentState.value()));
-                        break;
                     }
-                } else {
-                    counter = 0;
-                    Thread.sleep(interval);
+
+                    // In case we are in state before collate or before analyze, we will wait 1 minute for the state to change otherwise we exit
+                    // because the user probably stopped the run from LRE or timeslot has reached the end.
+                    if (Arrays.asList(states).contains(currentState)) {
+                        counter++;
+                        Thread.sleep(1000);
+                        if (counter > 60) {
+                            logger.println(String.format("%s - Run ID: %s  - %s = %s",
+                                    dateFormatter.getDate(),
+                                    runId,
+                                    Messages.StoppedFromPC(),
+                                    currentState.value()));
+                            break;
+                        }
+                    } else {
+                        counter = 0;
+                        poller.await(poller.onSuccess(stateChanged));
+                    }
+                    threeStrikes = 3;
                 }
-                threeStrikes = 3;
-            }
-            catch(InterruptedException e)
-            {
-                throw e;
-            }
-            catch(PcException e)
-            {
-                threeStrikes--;
-            }
-        } while (lastState.ordinal() < completionState.ordinal());
+                catch(InterruptedException e)
+                {
+                    throw e;
+                }
+                catch(PcException e)
+                {
+                    threeStrikes--;
+                }
+            } while (lastState.ordinal() < completionState.ordinal());
+        }
         return response;
     }
 
@@ -648,54 +653,23 @@ public class PcClient {
     // for example:
     // <Action_Transaction:0.001>
     // <Virtual transaction 2:0.51>
-    // This function uses reflection since we know only at runtime which transactions data will be reposed from the rest request.
+    // Each call downloads the trend report again; use getTrendReportIndex when several measurements are needed.
     public Map<String, String>  getTrendReportByXML(String trendReportId, int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType,TrendReportTypes.Measurement measurement) throws IOException, PcException, IntrospectionException, NoSuchMethodException {
+        return getTrendReportMeasurements(getTrendReportIndex(trendReportId, runId), runId, dataType, pctType, measurement);
+    }
+
+    // Downloads the trend report data of the run once so that all its measurements can be extracted from memory.
+    public TrendReportIndex getTrendReportIndex(String trendReportId, int runId) throws IOException, PcException {
+        return new TrendReportIndex(restProxy.getTrendReportByXML(trendReportId, runId));
+    }
+
+    public Map<String, String> getTrendReportMeasurements(TrendReportIndex trendReportIndex, int runId, TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement) {
 
         Map<String, String> measurmentsMap = new LinkedHashMap<String, String>();
         measurmentsMap.put("RunId","_" + runId + "_");
         measurmentsMap.put("Trend Measurement Type",measurement.toString() + "_" + pctType.toString());
-
-
-
-            TrendReportTransactionDataRoot res = restProxy.getTrendReportByXML(trendReportId, runId);
-
-//            java.lang.reflect.Method rootMethod =  res.getClass().getMethod("getTrendReport" + dataType.toString() + "DataRowsList");
-//            ArrayList<Object> RowsListObj = (ArrayList<Object>) rootMethod.invoke(res);
-//            RowsListObj.get(0);
-
-            List<Object> RowsListObj = res.getTrendReportRoot();
-
-            for (int i=0; i< RowsListObj.size();i++){
-                try {
-
-                    java.lang.reflect.Method rowListMethod = RowsListObj.get(i).getClass().getMethod("getTrendReport" + dataType.toString() + "DataRowList");
-
-                for ( Object DataRowObj : (ArrayList<Object>)rowListMethod.invoke(RowsListObj.get(i)))
-                {
-                    if (DataRowObj.getClass().getMethod("getPCT_TYPE").invoke(DataRowObj).equals(pctType.toString()))
-                    {
-                        java.lang.reflect.Method method;
-                        method = DataRowObj.getClass().getMethod("get" + measurement.toString());
-                        measurmentsMap.put(DataRowObj.getClass().getMethod("getPCT_NAME").invoke(DataRowObj).toString(),method.invoke(DataRowObj)==null?"":method.invoke(DataRowObj).toString());
-                    }
-                }
-                }catch (NoSuchMethodException e){
-                  //  logger.println("No such method exception: " + e);
-                }
-                catch (Exception e){
-                    logger.println(String.format("%s - Error on getTrendReportByXML: %s ", dateFormatter.getDate(), e));
-                }
-            }
-
-
-
-
-          //  logger.print(res);
-
-
+        measurmentsMap.putAll(trendReportIndex.getMeasurements(dataType, pctType, measurement));
         return measurmentsMap;
-
-
     }
 
 }
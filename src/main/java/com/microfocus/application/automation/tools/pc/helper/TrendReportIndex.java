@@ -0,0 +1,142 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.pc.helper;
+
+import com.microfocus.adm.performancecenter.plugins.common.pcentities.TrendReportTransactionDataRoot;
+import com.microfocus.adm.performancecenter.plugins.common.pcentities.TrendReportTypes;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * In-memory view of a single trend report download.
+ * The rows of the report are bucketed once by data type and PCT type so that every
+ * (data type, PCT type, measurement) combination can be extracted without fetching
+ * or scanning the whole report again.
+ * The row classes are generated per data type, so their accessors are resolved
+ * by name only once per class and then reused for all rows.
+ */
+public class TrendReportIndex {
+
+    private static final String PCT_TYPE_GETTER = "getPCT_TYPE";
+    private static final String PCT_NAME_GETTER = "getPCT_NAME";
+
+    private final Map<TrendReportTypes.DataType, Map<String, List<Object>>> rowsByType =
+            new EnumMap<>(TrendReportTypes.DataType.class);
+    private final Map<Class<?>, Map<String, Method>> accessors = new HashMap<>();
+
+    public TrendReportIndex(TrendReportTransactionDataRoot root) {
+        if (root == null || root.getTrendReportRoot() == null) {
+            return;
+        }
+        for (Object rows : root.getTrendReportRoot()) {
+            if (rows == null) {
+                continue;
+            }
+            for (TrendReportTypes.DataType dataType : TrendReportTypes.DataType.values()) {
+                indexRows(dataType, rows);
+            }
+        }
+    }
+
+    /**
+     * Returns the values of the given measurement keyed by PCT name, in report order.
+     */
+    public Map<String, String> getMeasurements(TrendReportTypes.DataType dataType,
+                                               TrendReportTypes.PctType pctType,
+                                               TrendReportTypes.Measurement measurement) {
+        Map<String, String> result = new LinkedHashMap<>();
+        Map<String, List<Object>> byPctType = rowsByType.get(dataType);
+        if (byPctType == null) {
+            return result;
+        }
+        List<Object> rows = byPctType.get(pctType.toString());
+        if (rows == null) {
+            return result;
+        }
+        String getter = "get" + measurement.toString();
+        for (Object row : rows) {
+            Object name = invoke(row, PCT_NAME_GETTER);
+            Object value = invoke(row, getter);
+            result.put(String.valueOf(name), value == null ? "" : value.toString());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void indexRows(TrendReportTypes.DataType dataType, Object rows) {
+        Method rowListGetter = getAccessor(rows.getClass(), "getTrendReport" + dataType.toString() + "DataRowList");
+        if (rowListGetter == null) {
+            return;
+        }
+        Object rowList = invoke(rowListGetter, rows);
+        if (!(rowList instanceof Collection)) {
+            return;
+        }
+        Map<String, List<Object>> byPctType = rowsByType.computeIfAbsent(dataType, k -> new HashMap<>());
+        for (Object row : (Collection<Object>) rowList) {
+            if (row == null) {
+                continue;
+            }
+            Object pctType = invoke(row, PCT_TYPE_GETTER);
+            if (pctType != null) {
+                byPctType.computeIfAbsent(pctType.toString(), k -> new ArrayList<>()).add(row);
+            }
+        }
+    }
+
+    private Object invoke(Object target, String methodName) {
+        Method method = getAccessor(target.getClass(), methodName);
+        return method == null ? null : invoke(method, target);
+    }
+
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private Method getAccessor(Class<?> clazz, String methodName) {
+        Map<String, Method> classAccessors = accessors.computeIfAbsent(clazz, k -> new HashMap<>());
+        if (classAccessors.containsKey(methodName)) {
+            return classAccessors.get(methodName);
+        }
+        Method method;
+        try {
+            method = clazz.getMethod(methodName);
+        } catch (NoSuchMethodException e) {
+            method = null;
+        }
+        classAccessors.put(methodName, method);
+        return method;
+    }
+}
@@ -28,20 +28,15 @@
 
 package com.microfocus.application.automation.tools.rest;
 
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -54,8 +49,6 @@ import com.microfocus.application.automation.tools.common.SSEException;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.ResourceAccessLevel;
 import com.microfocus.application.automation.tools.sse.sdk.Response;
-import hudson.ProxyConfiguration;
-
 import com.microfocus.application.automation.tools.sse.sdk.HttpRequestDecorator;
 
 import com.microfocus.adm.performancecenter.plugins.common.rest.RESTConstants;
@@ -69,11 +62,12 @@ import com.microfocus.adm.performancecenter.plugins.common.rest.RESTConstants;
 public class RestClient implements Client {
 
     private final String _serverUrl;
-    protected Map<String, String> _cookies = new HashMap<String, String>();
+    protected Map<String, String> _cookies = new ConcurrentHashMap<String, String>();
     private final String _restPrefix;
     private final String _webuiPrefix;
     private final String _username;
     private final String XSRF_TOKEN_VALUE;
+    private final HttpTransport _transport;
 
     /**
      * Configure SSL context for the client.
@@ -122,6 +116,15 @@ public class RestClient implements Client {
      */
     public RestClient(String url, String domain, String project, String username) {
 
+        this(url, domain, project, username, new UrlConnectionTransport());
+    }
+
+    /**
+     * Constructor for setting rest client properties and the transport used to send its requests.
+     */
+    public RestClient(String url, String domain, String project, String username, HttpTransport transport) {
+
+        _transport = transport;
         if (!url.endsWith("/")) {
             url = String.format("%s/", url);
         }
@@ -263,10 +266,9 @@ public class RestClient implements Client {
             url += "?" + queryString;
         }
         try {
-            HttpURLConnection connection = (HttpURLConnection)ProxyConfiguration.open(new URL(url));
-            connection.setRequestMethod(type);
-
             Map<String, String> decoratedHeaders = new HashMap<String, String>();
+            // set all cookies for request
+            decoratedHeaders.put(RESTConstants.COOKIE, getCookiesString());
             if (headers != null) {
                 decoratedHeaders.putAll(headers);
             }
@@ -276,10 +278,10 @@ public class RestClient implements Client {
                     getUsername(),
                     resourceAccessLevel);
 
-            prepareHttpRequest(connection, decoratedHeaders, data);
-            connection.connect();
-            ret = retrieveHtmlResponse(connection);
+            ret = _transport.execute(type, url, data, decoratedHeaders);
             updateCookies(ret);
+        } catch (SSEException cause) {
+            throw cause;
         } catch (Exception cause) {
             throw new SSEException(cause);
         }
@@ -287,114 +289,23 @@ public class RestClient implements Client {
         return ret;
     }
 
-    /**
-     * Prepare http request
-     */
-    private void prepareHttpRequest(
-            HttpURLConnection connnection,
-            Map<String, String> headers,
-            byte[] bytes) {
-
-        // set all cookies for request
-        connnection.setRequestProperty(RESTConstants.COOKIE, getCookiesString());
-
-        setConnectionHeaders(connnection, headers);
-
-        setConnectionData(connnection, bytes);
-    }
-
-    /**
-     * Set connection data
-     */
-    private void setConnectionData(HttpURLConnection connnection, byte[] bytes) {
-
-        if (bytes != null && bytes.length > 0) {
-            connnection.setDoOutput(true);
-            try {
-                OutputStream out = connnection.getOutputStream();
-                out.write(bytes);
-                out.flush();
-                out.close();
-            } catch (Exception cause) {
-                throw new SSEException(cause);
-            }
-        }
-    }
-
-    /**
-     * Set connection headers
-     */
-    private void setConnectionHeaders(HttpURLConnection connnection, Map<String, String> headers) {
-
-        if (headers != null) {
-            Iterator<Entry<String, String>> headersIterator = headers.entrySet().iterator();
-            while (headersIterator.hasNext()) {
-                Entry<String, String> header = headersIterator.next();
-                connnection.setRequestProperty(header.getKey(), header.getValue());
-            }
-        }
-    }
-
-    /**
-     * Retrieve Html Response
-     * @param connection
-     *            that is already connected to its url with an http request, and that should contain
-     *            a response for us to retrieve
-     * @return a response from the server to the previously submitted http request
-     */
-    private Response retrieveHtmlResponse(HttpURLConnection connection) {
-
-        Response ret = new Response();
-
-        try {
-            ret.setStatusCode(connection.getResponseCode());
-            ret.setHeaders(connection.getHeaderFields());
-        } catch (Exception cause) {
-            throw new SSEException(cause);
-        }
-
-        InputStream inputStream;
-        // select the source of the input bytes, first try 'regular' input
-        try {
-            inputStream = connection.getInputStream();
-        }
-        // if the connection to the server somehow failed, for example 404 or 500,
-        // con.getInputStream() will throw an exception, which we'll keep.
-        // we'll also store the body of the exception page, in the response data. */
-        catch (Exception e) {
-            inputStream = connection.getErrorStream();
-            ret.setFailure(e);
-        }
-
-        // this takes data from the previously set stream (error or input)
-        // and stores it in a byte[] inside the response
-        ByteArrayOutputStream container = new ByteArrayOutputStream();
-        byte[] buf = new byte[1024];
-        int read;
-        try {
-            while ((read = inputStream.read(buf, 0, 1024)) > 0) {
-                container.write(buf, 0, read);
-            }
-            ret.setData(container.toByteArray());
-        } catch (Exception ex) {
-            throw new SSEException(ex);
-        }
-
-        return ret;
-    }
-
     /**
      * Update cookies
      */
     private void updateCookies(Response response) {
 
+        if (response.getHeaders() == null) {
+            return;
+        }
         Iterable<String> newCookies = response.getHeaders().get(RESTConstants.SET_COOKIE);
         if (newCookies != null) {
             for (String cookie : newCookies) {
                 int equalIndex = cookie.indexOf('=');
                 int semicolonIndex = cookie.indexOf(';');
                 String cookieKey = cookie.substring(0, equalIndex);
-                String cookieValue = cookie.substring(equalIndex + 1, semicolonIndex);
+                String cookieValue = semicolonIndex < 0
+                        ? cookie.substring(equalIndex + 1)
+                        : cookie.substring(equalIndex + 1, semicolonIndex);
                 _cookies.put(cookieKey, cookieValue);
             }
         }
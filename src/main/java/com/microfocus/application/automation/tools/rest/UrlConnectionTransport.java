@@ -0,0 +1,153 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.GZIPInputStream;
+
+import com.microfocus.application.automation.tools.common.SSEException;
+import com.microfocus.application.automation.tools.sse.sdk.Response;
+import hudson.ProxyConfiguration;
+
+/***
+ * {@link HttpTransport} based on {@link HttpURLConnection}, honoring the Jenkins proxy configuration.
+ * The JVM keeps persistent connections in its keep-alive cache only when a response body was read
+ * to its end and closed, so every response (including error pages) is fully consumed here,
+ * which lets the polling loops reuse the same sockets and TLS sessions instead of handshaking per request.
+ */
+public class UrlConnectionTransport implements HttpTransport {
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String GZIP = "gzip";
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final boolean _gzip;
+
+    public UrlConnectionTransport() {
+
+        this(true);
+    }
+
+    /**
+     * @param gzip whether to ask the server for gzip compressed responses
+     */
+    public UrlConnectionTransport(boolean gzip) {
+
+        _gzip = gzip;
+    }
+
+    @Override
+    public Response execute(String method, String url, byte[] data, Map<String, String> headers) {
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) ProxyConfiguration.open(new URL(url));
+            connection.setRequestMethod(method);
+            if (_gzip) {
+                connection.setRequestProperty(ACCEPT_ENCODING, GZIP);
+            }
+            if (headers != null) {
+                for (Entry<String, String> header : headers.entrySet()) {
+                    connection.setRequestProperty(header.getKey(), header.getValue());
+                }
+            }
+            writeData(connection, data);
+            connection.connect();
+
+            return readResponse(connection);
+        } catch (SSEException cause) {
+            throw cause;
+        } catch (Exception cause) {
+            throw new SSEException(cause);
+        }
+    }
+
+    private void writeData(HttpURLConnection connection, byte[] data) throws IOException {
+
+        if (data != null && data.length > 0) {
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(data.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(data);
+            }
+        }
+    }
+
+    /**
+     * Reads the response of an already connected request.
+     * If the request failed, for example 404 or 500, the input stream is not available;
+     * the failure is kept and the body of the error page is read instead.
+     */
+    private Response readResponse(HttpURLConnection connection) throws IOException {
+
+        Response ret = new Response();
+        ret.setStatusCode(connection.getResponseCode());
+        ret.setHeaders(connection.getHeaderFields());
+
+        InputStream inputStream;
+        try {
+            inputStream = connection.getInputStream();
+        } catch (Exception e) {
+            inputStream = connection.getErrorStream();
+            ret.setFailure(e);
+        }
+
+        if (inputStream == null) {
+            ret.setData(new byte[0]);
+            return ret;
+        }
+        if (GZIP.equalsIgnoreCase(connection.getContentEncoding())) {
+            inputStream = new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+        ret.setData(readFully(inputStream, connection.getContentLength()));
+
+        return ret;
+    }
+
+    private static byte[] readFully(InputStream inputStream, int contentLength) throws IOException {
+
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream container =
+                    new ByteArrayOutputStream(contentLength > 0 ? contentLength : BUFFER_SIZE);
+            byte[] buf = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                container.write(buf, 0, read);
+            }
+            return container.toByteArray();
+        }
+    }
+}
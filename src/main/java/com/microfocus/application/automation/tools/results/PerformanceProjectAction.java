@@ -40,8 +40,6 @@ import com.microfocus.application.automation.tools.results.projectparser.perform
 import com.microfocus.application.automation.tools.results.projectparser.performance.WholeRunResult;
 import hudson.model.Action;
 import hudson.model.Job;
-import hudson.model.Run;
-import hudson.util.RunList;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.kohsuke.stapler.bind.JavaScriptMethod;
@@ -74,9 +72,6 @@ public class PerformanceProjectAction implements Action {
      * The Current project.
      */
     public final Job<?, ?> currentProject;
-    private ArrayList<LrJobResults> jobLrResults;
-    private int lastBuildId = -1;
-    private ArrayList<Integer> _workedBuilds;
     private ProjectLrResults _projectResult;
     private Collection<Action> projectActions;
 
@@ -87,18 +82,10 @@ public class PerformanceProjectAction implements Action {
      * @param job the job
      */
     public PerformanceProjectAction(Job<?, ?> job) {
-        this._workedBuilds = new ArrayList<Integer>();
-        this.jobLrResults = new ArrayList<LrJobResults>();
         this.currentProject = job;
         projectActions = new ArrayList<>();
     }
 
-    private void updateLastBuild() {
-
-        // TODO: The first one is the last one!!
-
-    }
-
     /**
      * Gets scenario list.
      *
@@ -106,6 +93,7 @@ public class PerformanceProjectAction implements Action {
      */
     @JavaScriptMethod
     public JSONArray getScenarioList() {
+        getUpdatedData();
         JSONArray scenarioList = new JSONArray();
         for (String scenarioName : _projectResult.getScenarioResults().keySet()) {
             JSONObject scenario = new JSONObject();
@@ -124,8 +112,8 @@ public class PerformanceProjectAction implements Action {
     @JavaScriptMethod
     public JSONObject getGraphData() {
         JSONObject projectDataSet = new JSONObject();
+        getUpdatedData();
         if (_projectResult == null) {
-//            getUpdatedData();
             return new JSONObject();
         }
 
@@ -216,60 +204,35 @@ public class PerformanceProjectAction implements Action {
      * @return the boolean
      */
     boolean isVisible() {
-        List<? extends Run<?, ?>> builds = currentProject.getBuilds();
-        for (Run run : builds) {
-            if (run.getAction(PerformanceJobReportAction.class) != null) {
-                return true;
-            }
-        }
-        return false;
+        return PerformanceProjectTrendIndex.forJob(currentProject).hasResults();
     }
 
     /**
      * Gets updated data.
      */
     public synchronized void getUpdatedData() {
-        if (!isUpdateDataNeeded()) {
-            return;
-        }
-
-        this._projectResult = new ProjectLrResults();
-
-        _workedBuilds = new ArrayList<Integer>();
-
-        RunList<? extends Run> projectBuilds = currentProject.getBuilds();
-
-        // updateLastBuild();
-
-        for (Run run : projectBuilds) {
-            PerformanceJobReportAction performanceJobReportAction = run.getAction(PerformanceJobReportAction.class);
-            if (performanceJobReportAction == null) {
-                continue;
-            }
-            if (run.isBuilding()) {
-                continue;
-            }
-
-            int runNumber = run.getNumber();
-            if (_workedBuilds.contains(runNumber)) {
-                continue;
-            }
-
+        this._projectResult = PerformanceProjectTrendIndex.forJob(currentProject)
+                .getProjectResults(this::aggregateProjectResults);
+    }
 
+    private ProjectLrResults aggregateProjectResults(SortedMap<Integer, LrJobResults> buildResults) {
+        ProjectLrResults projectResult = new ProjectLrResults();
 
-            _workedBuilds.add(runNumber);
-            LrJobResults jobLrResult = performanceJobReportAction.getLrResultBuildDataset();
+        // builds are ordered from the latest to the oldest one
+        for (SortedMap.Entry<Integer, LrJobResults> buildResult : buildResults.entrySet()) {
+            int runNumber = buildResult.getKey();
+            LrJobResults jobLrResult = buildResult.getValue();
 
             // get all the ran scenario results from this run and insert them into the project
             for (Map.Entry<String, JobLrScenarioResult> runResult : jobLrResult.getLrScenarioResults().entrySet()) {
                 // add the scenario if it's the first time it's ran in this build (allows scenarios to be also added
                 // at diffrent time)
-                if (!_projectResult.getScenarioResults().containsKey(runResult.getKey())) {
-                    _projectResult.addScenario(new LrProjectScenarioResults(runResult.getKey()));
+                if (!projectResult.getScenarioResults().containsKey(runResult.getKey())) {
+                    projectResult.addScenario(new LrProjectScenarioResults(runResult.getKey()));
                 }
                 // Join the SLA rule results
                 LrProjectScenarioResults lrProjectScenarioResults =
-                        _projectResult.getScenarioResults().get(runResult.getKey());
+                        projectResult.getScenarioResults().get(runResult.getKey());
                 if(lrProjectScenarioResults.getBuildCount() > MAX_DISPLAY_BUILDS)
                 {
                     continue;
@@ -289,6 +252,7 @@ public class PerformanceProjectAction implements Action {
             }
 
         }
+        return projectResult;
     }
 
     private void joinDurationStats(int runNumber, LrProjectScenarioResults lrProjectScenarioResults,
@@ -429,20 +393,6 @@ public class PerformanceProjectAction implements Action {
         }
     }
 
-    private boolean isUpdateDataNeeded() {
-//        final Run<?, ?> lastBuild = currentProject.getLastBuild();
-//        if (null == lastBuild) {
-//            return false;
-//        }
-//
-//        int latestBuildNumber = lastBuild.getNumber();
-//        if (latestBuildNumber == lastBuildId) {
-//            return true;
-//        }
-
-        return true;
-    }
-
 //    @Override
 //    public Collection<? extends Action> getProjectActions() {
 //        this.projectActions.add(this);
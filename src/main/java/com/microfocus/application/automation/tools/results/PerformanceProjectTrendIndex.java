@@ -0,0 +1,176 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.results;
+
+import com.microfocus.application.automation.tools.results.projectparser.performance.LrJobResults;
+import com.microfocus.application.automation.tools.results.projectparser.performance.ProjectLrResults;
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+import javax.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Holds the LoadRunner results of the builds of a single job, keyed by build number (latest build first).
+ * The index is loaded from the builds the first time it is requested, and from then on it is maintained
+ * by {@link RunListenerImpl} as builds complete or get deleted, so the project level trend report does not
+ * need to load every build of the job on each page view.
+ */
+public class PerformanceProjectTrendIndex {
+
+    private static final Map<Job<?, ?>, PerformanceProjectTrendIndex> INDEXES =
+            Collections.synchronizedMap(new WeakHashMap<Job<?, ?>, PerformanceProjectTrendIndex>());
+
+    private final WeakReference<Job<?, ?>> job;
+    private final SortedMap<Integer, LrJobResults> buildResults =
+            new TreeMap<Integer, LrJobResults>(Comparator.reverseOrder());
+    private boolean loaded;
+    private ProjectLrResults projectResults;
+
+    private PerformanceProjectTrendIndex(Job<?, ?> job) {
+        this.job = new WeakReference<Job<?, ?>>(job);
+    }
+
+    /**
+     * Gets the trend index of the job, creating it if needed.
+     *
+     * @param job the job
+     * @return the trend index
+     */
+    public static PerformanceProjectTrendIndex forJob(Job<?, ?> job) {
+        synchronized (INDEXES) {
+            PerformanceProjectTrendIndex index = INDEXES.get(job);
+            if (index == null) {
+                index = new PerformanceProjectTrendIndex(job);
+                INDEXES.put(job, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Is there at least one completed build with LoadRunner results.
+     *
+     * @return the boolean
+     */
+    public synchronized boolean hasResults() {
+        ensureLoaded();
+        return !buildResults.isEmpty();
+    }
+
+    /**
+     * Gets the project level results, aggregating the indexed builds only if they changed since the last call.
+     *
+     * @param aggregator builds the project results out of the indexed build results, latest build first
+     * @return the project results
+     */
+    public synchronized ProjectLrResults getProjectResults(
+            Function<SortedMap<Integer, LrJobResults>, ProjectLrResults> aggregator) {
+        ensureLoaded();
+        if (projectResults == null) {
+            projectResults = aggregator.apply(Collections.unmodifiableSortedMap(buildResults));
+        }
+        return projectResults;
+    }
+
+    synchronized void put(int buildNumber, LrJobResults results) {
+        if (!loaded) {
+            // will be picked up by the initial load
+            return;
+        }
+        buildResults.put(buildNumber, results);
+        projectResults = null;
+    }
+
+    synchronized void remove(int buildNumber) {
+        if (buildResults.remove(buildNumber) != null) {
+            projectResults = null;
+        }
+    }
+
+    private void ensureLoaded() {
+        Job<?, ?> currentJob = job.get();
+        if (loaded || currentJob == null) {
+            return;
+        }
+        for (Run<?, ?> run : currentJob.getBuilds()) {
+            if (run.isBuilding()) {
+                continue;
+            }
+            PerformanceJobReportAction action = run.getAction(PerformanceJobReportAction.class);
+            if (action != null) {
+                buildResults.put(run.getNumber(), action.getLrResultBuildDataset());
+            }
+        }
+        loaded = true;
+        projectResults = null;
+    }
+
+    private static PerformanceProjectTrendIndex getIfPresent(Job<?, ?> job) {
+        return INDEXES.get(job);
+    }
+
+    /**
+     * Keeps the existing trend indexes up to date with completed and deleted builds.
+     */
+    @Extension
+    public static final class RunListenerImpl extends RunListener<Run> {
+
+        @Override
+        public void onCompleted(Run run, @Nonnull TaskListener listener) {
+            PerformanceProjectTrendIndex index = getIfPresent(run.getParent());
+            if (index == null) {
+                return;
+            }
+            PerformanceJobReportAction action = run.getAction(PerformanceJobReportAction.class);
+            if (action != null) {
+                index.put(run.getNumber(), action.getLrResultBuildDataset());
+            }
+        }
+
+        @Override
+        public void onDeleted(Run run) {
+            PerformanceProjectTrendIndex index = getIfPresent(run.getParent());
+            if (index != null) {
+                index.remove(run.getNumber());
+            }
+        }
+    }
+}
@@ -517,25 +517,9 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 									FilePath testFolder = new FilePath(channel, testFolderPath);
 									String zipFileName = getUniqueZipFileNameInFolder(zipFileNames, testFolder.getName(), "UFT");
 									zipFileNames.add(zipFileName);
-									ByteArrayOutputStream outstr = new ByteArrayOutputStream();
-
-									// don't use FileFilter for zip, or it will cause bug when files are on slave
-									reportFolder.zip(outstr);
-
-									/*
-									 * I did't use copyRecursiveTo or copyFrom due to bug in
-									 * jekins:https://issues.jenkins-ci.org/browse /JENKINS-9189 //(which is
-									 * cleaimed to have been fixed, but not. So I zip the folder to stream and copy
-									 * it to the master.
-									 */
-
-									ByteArrayInputStream instr = new ByteArrayInputStream(outstr.toByteArray());
-
 									FilePath archivedFile = new FilePath(new FilePath(artifactsDir), zipFileName);
-									archivedFile.copyFrom(instr);
-
-									outstr.close();
-									instr.close();
+									// don't use FileFilter for zip, or it will cause bug when files are on slave
+									zipToFile(reportFolder, archivedFile);
 
 									// add to Report list
 									String zipFileUrlName = "artifact/" + zipFileName;
@@ -657,6 +641,15 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 				}
 
 				String htmlReportDir = htmlReportInfo.getFolderPath(); // C:\UFTTest\GuiTest1\Report
+				String testName = htmlReportInfo.getDisPlayName(); // like "GuiTest1"
+				String dest = testName;
+
+				FilePath targetPath = new FilePath(rootTarget, dest); // target path is something like "C:\Program Files
+				// (x86)\Jenkins\jobs\testAction\builds\35\archive\UFTReport\GuiTest1"
+				if(targetPath.exists()){
+					// already copied to the master, no need to transfer it again
+					continue;
+				}
 				try {
 					EnvVars env = build.getEnvironment(listener);
 					long indexFolder = getIndexOfReportFolder(new File(htmlReportDir), EXTERNAL_REPORT_FOLDER, env.get("NODE_NAME"));
@@ -679,14 +672,6 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 				// So at last we got files in C:\Program Files (x86)
 				// \Jenkins\jobs\testAction\builds\35\archive\UFTReport\GuiTest
 				String unzippedFileName = org.apache.commons.io.FilenameUtils.getName(htmlReportDir);
-				String testName = htmlReportInfo.getDisPlayName(); // like "GuiTest1"
-				String dest = testName;
-
-				FilePath targetPath = new FilePath(rootTarget, dest); // target path is something like "C:\Program Files
-				if(targetPath.exists()){
-					continue;
-				}
-				// (x86)\Jenkins\jobs\testAction\builds\35\archive\UFTReport\GuiTest1"
 				FilePath unzippedFolderPath = new FilePath(rootTarget, unzippedFileName); // C:\Program Files
 
 				// (x86)\Jenkins\jobs\testAction\builds\35\archive\UFTReport\Report
@@ -728,24 +713,32 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 
 		FilePath source  = new FilePath(runWorkspace, htmlReportDir);
 
-		ByteArrayOutputStream outStr = new ByteArrayOutputStream();
-		source.zip(outStr);
-
-		ByteArrayInputStream inStr= new ByteArrayInputStream(outStr.toByteArray());
 		String zipFileName = "UFT_Report_HTML_tmp.zip";
 		FilePath archivedFile = new FilePath(rootTarget, zipFileName);
 
 		//copy from slave to master
-		archivedFile.copyFrom(inStr);
+		zipToFile(source, archivedFile);
 
 		// end zip copy and unzip
 		archivedFile.unzip(rootTarget);
 
 		//delete temporary archive UFT_Report_HTML_tmp.zip
 		archivedFile.delete();
+	}
 
-		outStr.close();
-		inStr.close();
+	/**
+	 * Zips a folder (or file) of the executing node directly into a zip file on the master.
+	 * The zip is streamed over the channel, so the report is never held in memory as a whole.
+	 *
+	 * I did't use copyRecursiveTo due to bug in
+	 * jekins:https://issues.jenkins-ci.org/browse/JENKINS-9189 (which is
+	 * cleaimed to have been fixed, but not. So I zip the folder to stream and copy
+	 * it to the master.
+	 */
+	private static void zipToFile(FilePath source, FilePath archivedFile) throws IOException, InterruptedException {
+		try (OutputStream out = archivedFile.write()) {
+			source.zip(out);
+		}
 	}
 
 
@@ -779,18 +772,13 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 			throws IOException, InterruptedException {
 		FilePath slaReportFilePath = new FilePath(reportFolder, "RunReport.xml");
 		if (slaReportFilePath.exists()) {
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			slaReportFilePath.zip(baos);
 			File slaDirectory = new File(buildDir, "RunReport");
 			if (!slaDirectory.exists()) {
 				slaDirectory.mkdir();
 			}
-			ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
 			FilePath slaDirectoryFilePath = new FilePath(slaDirectory);
 			FilePath tmpZipFile = new FilePath(slaDirectoryFilePath, "runReport.zip");
-			tmpZipFile.copyFrom(bais);
-			bais.close();
-			baos.close();
+			zipToFile(slaReportFilePath, tmpZipFile);
 			tmpZipFile.unzip(slaDirectoryFilePath);
 			FilePath slaFile = new FilePath(slaDirectoryFilePath, "RunReport.xml");
 			slaFile.getBaseName();
@@ -816,22 +804,7 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 
 				listener.getLogger().println("Zipping report folder: " + reportFolder);
 
-				ByteArrayOutputStream outstr = new ByteArrayOutputStream();
-				reportFolder.zip(outstr);
-
-				/*
-				 * I did't use copyRecursiveTo or copyFrom due to bug in
-				 * jekins:https://issues.jenkins-ci.org/browse /JENKINS-9189 //(which is
-				 * cleaimed to have been fixed, but not. So I zip the folder to stream and copy
-				 * it to the master.
-				 */
-
-				ByteArrayInputStream instr = new ByteArrayInputStream(outstr.toByteArray());
-
-				archivedFile.copyFrom(instr);
-
-				outstr.close();
-				instr.close();
+				zipToFile(reportFolder, archivedFile);
 				return true;
 			} else {
 				listener.getLogger().println("No report folder was found in: " + reportFolder);
@@ -878,18 +851,13 @@ public class RunResultRecorder extends Recorder implements Serializable, MatrixA
 			if (srcDirectoryFilePath.exists()) {
 				FilePath srcFilePath = new FilePath(srcDirectoryFilePath, IE_REPORT_FOLDER);
 				if (srcFilePath.exists()) {
-					ByteArrayOutputStream baos = new ByteArrayOutputStream();
-					srcFilePath.zip(baos);
 					File reportDirectory = new File(artifactsDir.getParent(), PERFORMANCE_REPORT_FOLDER);
 					if (!reportDirectory.exists()) {
 						reportDirectory.mkdir();
 					}
-					ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
 					FilePath reportDirectoryFilePath = new FilePath(reportDirectory);
 					FilePath tmpZipFile = new FilePath(reportDirectoryFilePath, "tmp.zip");
-					tmpZipFile.copyFrom(bais);
-					bais.close();
-					baos.close();
+					zipToFile(srcFilePath, tmpZipFile);
 					tmpZipFile.unzip(reportDirectoryFilePath);
 					String newFolderName = org.apache.commons.io.FilenameUtils.getName(testFolderPathFile.getPath());
 					FileUtils.moveDirectory(new File(reportDirectory, IE_REPORT_FOLDER),
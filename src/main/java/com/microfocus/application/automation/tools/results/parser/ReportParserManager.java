@@ -31,7 +31,14 @@ package com.microfocus.application.automation.tools.results.parser;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 
 import com.microfocus.application.automation.tools.results.parser.antjunit.AntJUnitReportParserImpl;
 import com.microfocus.application.automation.tools.results.parser.jenkinsjunit.JenkinsJUnitReportParserImpl;
@@ -39,6 +46,7 @@ import com.microfocus.application.automation.tools.results.parser.mavensurefire.
 import com.microfocus.application.automation.tools.results.parser.nunit.NUnitReportParserImpl;
 import com.microfocus.application.automation.tools.results.parser.nunit3.NUnit3ReportParserImpl;
 import com.microfocus.application.automation.tools.results.parser.testngxml.TestNGXmlReportParserImpl;
+import com.microfocus.application.automation.tools.results.parser.util.ParserUtil;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmTestSet;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import hudson.FilePath;
@@ -47,12 +55,25 @@ public class ReportParserManager {
 	
 	private static ReportParserManager instance = new ReportParserManager();
 
+	private static final Map<Class<? extends ReportParser>, List<String>> ROOT_ELEMENTS = createRootElements();
+
 	private List<ReportParser> parserList;
 	private FilePath workspace;
 	private Logger logger;
 
 	private ReportParserManager() {}
 
+	private static Map<Class<? extends ReportParser>, List<String>> createRootElements() {
+		Map<Class<? extends ReportParser>, List<String>> rootElements = new HashMap<Class<? extends ReportParser>, List<String>>();
+		rootElements.put(JenkinsJUnitReportParserImpl.class, Collections.singletonList("result"));
+		rootElements.put(MavenSureFireReportParserImpl.class, Collections.singletonList("testsuite"));
+		rootElements.put(TestNGXmlReportParserImpl.class, Collections.singletonList("testng-results"));
+		rootElements.put(NUnit3ReportParserImpl.class, Arrays.asList("test-run", "test-results"));
+		rootElements.put(NUnitReportParserImpl.class, Collections.singletonList("test-results"));
+		rootElements.put(AntJUnitReportParserImpl.class, Collections.singletonList("testsuites"));
+		return rootElements;
+	}
+
 	public static ReportParserManager getInstance(FilePath workspace, Logger logger) {
 		if (instance.workspace == null) {
 			instance.workspace = workspace;
@@ -66,9 +87,8 @@ public class ReportParserManager {
 	public List<AlmTestSet> parseTestSets(String reportFilePath, String testingFramework, String testingTool) {
 		init();
 		List<AlmTestSet> testsets = null;
-		for (ReportParser reportParser : parserList) {
-			try {
-				InputStream in = new FileInputStream(reportFilePath);
+		for (ReportParser reportParser : getCandidateParsers(reportFilePath)) {
+			try (InputStream in = new FileInputStream(reportFilePath)) {
 				testsets = reportParser.parseTestSets(in, testingFramework, testingTool);
 				break;
 			} catch (Exception e) {
@@ -78,6 +98,47 @@ public class ReportParserManager {
 		return testsets;
 	}
 
+	/**
+	 * Orders the parsers so the ones made for the report's root element are tried first.
+	 * The others are still tried afterwards, in their usual order.
+	 */
+	private List<ReportParser> getCandidateParsers(String reportFilePath) {
+		String rootElement = getRootElementName(reportFilePath);
+		if (rootElement == null) {
+			return parserList;
+		}
+		List<ReportParser> matching = new ArrayList<ReportParser>();
+		List<ReportParser> others = new ArrayList<ReportParser>();
+		for (ReportParser reportParser : parserList) {
+			List<String> rootElements = ROOT_ELEMENTS.get(reportParser.getClass());
+			if (rootElements != null && rootElements.contains(rootElement)) {
+				matching.add(reportParser);
+			} else {
+				others.add(reportParser);
+			}
+		}
+		matching.addAll(others);
+		return matching;
+	}
+
+	private String getRootElementName(String reportFilePath) {
+		try (InputStream in = new FileInputStream(reportFilePath)) {
+			XMLStreamReader reader = ParserUtil.createXMLStreamReader(in);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						return reader.getLocalName();
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (Exception e) {
+			// not well formed, let every parser try it
+		}
+		return null;
+	}
+
 	private void init() {
 		if (parserList == null) {
 			parserList = new ArrayList<ReportParser>();
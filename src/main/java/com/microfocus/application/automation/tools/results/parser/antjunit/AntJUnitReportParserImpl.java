@@ -33,9 +33,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import com.microfocus.application.automation.tools.results.parser.ReportParseException;
 import com.microfocus.application.automation.tools.results.parser.ReportParser;
@@ -73,9 +71,7 @@ public class AntJUnitReportParserImpl implements ReportParser {
 	}	
 	
 	private Testsuites parseFromAntJUnitReport(InputStream reportInputStream) throws JAXBException {
-		JAXBContext jaxbContext = JAXBContext.newInstance(Testsuites.class);
-		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-		return (Testsuites)unmarshaller.unmarshal(reportInputStream);
+		return ParserUtil.unmarshal(Testsuites.class, reportInputStream);
 	}
 	
 	private AlmTest createExternalTestForAntJUnit(Testcase tc, String testingFramework, String testingTool) {
@@ -32,9 +32,10 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import com.microfocus.application.automation.tools.results.parser.ReportParseException;
 import com.microfocus.application.automation.tools.results.parser.ReportParser;
@@ -51,6 +52,9 @@ import com.microfocus.application.automation.tools.sse.sdk.Base64Encoder;
 
 public class MavenSureFireReportParserImpl implements ReportParser {
 
+	private static final String TESTSUITE = "testsuite";
+	private static final String TESTCASE = "testcase";
+
 	public List<AlmTestSet> parseTestSets(InputStream reportInputStream,
                                           String testingFramework, String testingTool) throws ReportParseException {
 		
@@ -62,42 +66,59 @@ public class MavenSureFireReportParserImpl implements ReportParser {
 		}
 	}	
     
-	private Testsuite parseFromMavenSurefirePluginJUnitReport(InputStream reportInputStream) throws JAXBException {
-		JAXBContext jaxbContext = JAXBContext.newInstance(Testsuite.class);
-		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-		return (Testsuite)unmarshaller.unmarshal(reportInputStream);
-	}
-
 	private AlmTest createExternalTestForMavenSurefirePluginJUnit(Testcase tc, String testingFramework, String testingTool) {
 		
 		return ParserUtil.createExternalTest(tc.getClassname(), tc.getName(), testingFramework, testingTool);
 	}
 
-	private ArrayList<AlmTestSet> parseTestSetsFromMavenSurefirePluginJUnitReport(InputStream reportInputStream, String testingFramework, String testingTool) throws JAXBException {
-		Testsuite testsuite = parseFromMavenSurefirePluginJUnitReport(reportInputStream);		
-		ArrayList<AlmTestSet> testSets = new ArrayList<AlmTestSet>();
-		
-		AlmTestSet testSet = new AlmTestSetImpl();
-		testSet.setFieldValue( AlmTestSet.TESTSET_NAME, testsuite.getName());
-		testSet.setFieldValue( AlmTestSet.TESTSET_SUB_TYPE_ID, EXTERNAL_TEST_SET_TYPE_ID);
-		testSets.add(testSet);
-		
-		for (Testcase tc: testsuite.getTestcase()) {
-			AlmTestInstance testInstance = new AlmTestInstanceImpl();
-			testInstance.setFieldValue( AlmTestInstance.TEST_INSTANCE_SUBTYPE_ID, EXTERNAL_TEST_INSTANCE_TYPE_ID);
-			testSet.addRelatedEntity(EntityRelation.TESTSET_TO_TESTINSTANCE_CONTAINMENT_RELATION, testInstance);
-			
-			AlmTest test = createExternalTestForMavenSurefirePluginJUnit(tc, testingFramework, testingTool);
-			testInstance.addRelatedEntity(EntityRelation.TEST_TO_TESTINSTANCE_REALIZATION_RELATION, test);
-			
-			AlmRun run = ParserUtil.createRun(getRunStatus(tc),
-												testsuite.getTimestamp(), 
-												tc.getTime(), 
-												getRunDetail(tc));
-			testInstance.addRelatedEntity(EntityRelation.TESTINSTANCE_TO_RUN_REALIZATION_RELATION, run);
+	/**
+	 * Surefire reports can hold thousands of test cases with their whole output,
+	 * so the report is read with StAX and only one test case is unmarshalled at a time.
+	 */
+	private ArrayList<AlmTestSet> parseTestSetsFromMavenSurefirePluginJUnitReport(InputStream reportInputStream, String testingFramework, String testingTool) throws JAXBException, XMLStreamException {
+		XMLStreamReader reader = ParserUtil.createXMLStreamReader(reportInputStream);
+		try {
+			reader.nextTag();
+			if (!TESTSUITE.equals(reader.getLocalName())) {
+				throw new XMLStreamException("Unexpected root element: " + reader.getLocalName());
+			}
+			String timestamp = reader.getAttributeValue(null, "timestamp");
+			ArrayList<AlmTestSet> testSets = new ArrayList<AlmTestSet>();
+
+			AlmTestSet testSet = new AlmTestSetImpl();
+			testSet.setFieldValue( AlmTestSet.TESTSET_NAME, reader.getAttributeValue(null, "name"));
+			testSet.setFieldValue( AlmTestSet.TESTSET_SUB_TYPE_ID, EXTERNAL_TEST_SET_TYPE_ID);
+			testSets.add(testSet);
+
+			Unmarshaller unmarshaller = ParserUtil.getJAXBContext(Testsuite.class).createUnmarshaller();
+			while (reader.hasNext()) {
+				if (reader.isStartElement() && TESTCASE.equals(reader.getLocalName())) {
+					// leaves the reader on the event following the test case
+					Testcase tc = unmarshaller.unmarshal(reader, Testcase.class).getValue();
+					addTestInstance(testSet, tc, timestamp, testingFramework, testingTool);
+				} else {
+					reader.next();
+				}
+			}
+			return testSets;
+		} finally {
+			reader.close();
 		}
-		
-		return testSets;
+	}
+
+	private void addTestInstance(AlmTestSet testSet, Testcase tc, String timestamp, String testingFramework, String testingTool) {
+		AlmTestInstance testInstance = new AlmTestInstanceImpl();
+		testInstance.setFieldValue( AlmTestInstance.TEST_INSTANCE_SUBTYPE_ID, EXTERNAL_TEST_INSTANCE_TYPE_ID);
+		testSet.addRelatedEntity(EntityRelation.TESTSET_TO_TESTINSTANCE_CONTAINMENT_RELATION, testInstance);
+
+		AlmTest test = createExternalTestForMavenSurefirePluginJUnit(tc, testingFramework, testingTool);
+		testInstance.addRelatedEntity(EntityRelation.TEST_TO_TESTINSTANCE_REALIZATION_RELATION, test);
+
+		AlmRun run = ParserUtil.createRun(getRunStatus(tc),
+											timestamp,
+											tc.getTime(),
+											getRunDetail(tc));
+		testInstance.addRelatedEntity(EntityRelation.TESTINSTANCE_TO_RUN_REALIZATION_RELATION, run);
 	}
 
 	private String getRunStatus(Testcase testcase) {
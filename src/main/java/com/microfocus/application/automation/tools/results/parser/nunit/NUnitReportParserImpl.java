@@ -34,9 +34,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import com.microfocus.application.automation.tools.results.parser.ReportParseException;
 import com.microfocus.application.automation.tools.results.parser.ReportParser;
@@ -65,9 +63,7 @@ public class NUnitReportParserImpl implements ReportParser {
 	}	
     
 	private ResultType parseFromNUnitReport(InputStream reportInputStream) throws JAXBException {
-		JAXBContext jaxbContext = JAXBContext.newInstance(ResultType.class);
-		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-		return (ResultType)unmarshaller.unmarshal(reportInputStream);
+		return ParserUtil.unmarshal(ResultType.class, reportInputStream);
 	}
 
 	private AlmTest createExternalTestForNUnitReport(TestCaseType testcase, String testingFramework, String testingTool) {
@@ -28,11 +28,18 @@
 
 package com.microfocus.application.automation.tools.results.parser.util;
 
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import com.microfocus.application.automation.tools.results.parser.ReportParser;
 import com.microfocus.application.automation.tools.results.service.almentities.AlmRun;
@@ -45,6 +52,37 @@ public class ParserUtil {
 	public static char[] testNameInvalidChars = new char[] { '\\', '/', ':', '"', '?', '\'', '<', '>', '|', '*', '%' };
 	public static char[] testSetNameInvalidChars = new char[] { '\\', '^', ',', '"', '*' };
 
+	// JAXBContext is thread safe and expensive to build, marshallers and unmarshallers are not.
+	private static final ConcurrentMap<Class<?>, JAXBContext> jaxbContexts = new ConcurrentHashMap<Class<?>, JAXBContext>();
+	private static final XMLInputFactory xmlInputFactory = createXMLInputFactory();
+
+	private static XMLInputFactory createXMLInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+	public static JAXBContext getJAXBContext(Class<?> c) throws JAXBException {
+		JAXBContext jaxbContext = jaxbContexts.get(c);
+		if (jaxbContext == null) {
+			jaxbContext = JAXBContext.newInstance(c);
+			JAXBContext existing = jaxbContexts.putIfAbsent(c, jaxbContext);
+			if (existing != null) {
+				jaxbContext = existing;
+			}
+		}
+		return jaxbContext;
+	}
+
+	public static <T> T unmarshal(Class<T> c, InputStream in) throws JAXBException {
+		return c.cast(getJAXBContext(c).createUnmarshaller().unmarshal(in));
+	}
+
+	public static XMLStreamReader createXMLStreamReader(InputStream in) throws XMLStreamException {
+		return xmlInputFactory.createXMLStreamReader(in);
+	}
+
 	public static String repaceInvalidChars(char[] invalidChars, char newChar, String source)
     {
 		StringBuffer temp = new StringBuffer(source);
@@ -98,8 +136,7 @@ public class ParserUtil {
 	public static String marshallerObject(Class c, Object o){
 		String s = "<?xml version=\"1.0\" ?>";
 		try {
-			JAXBContext jaxbContext = JAXBContext.newInstance(c);
-			Marshaller marshaller =  jaxbContext.createMarshaller();
+			Marshaller marshaller = getJAXBContext(c).createMarshaller();
 			marshaller.setProperty(Marshaller.JAXB_ENCODING,"utf-8");
 			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 			marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
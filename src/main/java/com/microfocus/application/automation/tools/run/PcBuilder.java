@@ -35,6 +35,7 @@ import com.microfocus.adm.performancecenter.plugins.common.pcentities.*;
 import com.microfocus.application.automation.tools.pc.PcClient;
 import com.microfocus.application.automation.tools.pc.PcModel;
 import com.microfocus.application.automation.tools.pc.helper.DateFormatter;
+import com.microfocus.application.automation.tools.pc.helper.TrendReportIndex;
 import com.microfocus.application.automation.tools.sse.result.model.junit.Error;
 import com.microfocus.application.automation.tools.sse.result.model.junit.Failure;
 import com.microfocus.application.automation.tools.sse.result.model.junit.JUnitTestCaseStatus;
@@ -778,28 +779,30 @@ public class PcBuilder extends Builder implements SimpleBuildStep{
                 new TriTrendReportTypes(TrendReportTypes.DataType.Regular, TrendReportTypes.PctType.WEB, TrendReportTypes.Measurement.PCT_SUM1)
         };
 
+        // the trend report is downloaded once and all the measurements are extracted from it
+        TrendReportIndex trendReportIndex = pcClient.getTrendReportIndex(getPcModel().getTrendReportId(true), runId);
         for (TriTrendReportTypes triTrendReportType : triTrendReportTypes
              ) {
-            saveFileToWorkspacePath(pcClient,getPcModel().getTrendReportId(true),runId, triTrendReportType.getDataType(), triTrendReportType.getPctType(), triTrendReportType.getMeasurement());
+            saveFileToWorkspacePath(pcClient, trendReportIndex, runId, triTrendReportType.getDataType(), triTrendReportType.getPctType(), triTrendReportType.getMeasurement());
         }
 
     }
 
 
-    private boolean saveFileToWorkspacePath(PcClient pcClient, String trendReportID, int runId,TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement)throws IOException, PcException, IntrospectionException, NoSuchMethodException{
+    private boolean saveFileToWorkspacePath(PcClient pcClient, TrendReportIndex trendReportIndex, int runId,TrendReportTypes.DataType dataType, TrendReportTypes.PctType pctType, TrendReportTypes.Measurement measurement)throws IOException{
         String fileName = measurement.toString().toLowerCase()  + "_" +  pctType.toString().toLowerCase() + ".csv";
-        Map<String, String> measurementMap = pcClient.getTrendReportByXML(trendReportID, runId, dataType, pctType, measurement);
+        Map<String, String> measurementMap = pcClient.getTrendReportMeasurements(trendReportIndex, runId, dataType, pctType, measurement);
         try {
             FilePath filePath = new FilePath(Workspace.getChannel(), getWorkspacePath().getPath() + "/" + fileName);
-            String filepathContent="";
+            StringBuilder filepathContent = new StringBuilder();
             for (String key : measurementMap.keySet()) {
-                filepathContent += key + ",";
+                filepathContent.append(key).append(",");
             }
-            filepathContent += "\r\n";
+            filepathContent.append("\r\n");
             for (String value : measurementMap.values()) {
-                filepathContent += value + ",";
+                filepathContent.append(value).append(",");
             }
-            filePath.write(filepathContent, null);
+            filePath.write(filepathContent.toString(), null);
             return true;
         } catch (InterruptedException e) {
             if (getWorkspacePath().getPath() != null)
@@ -63,6 +63,7 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 
+import com.microfocus.application.automation.tools.AlmToolsBinaryCache;
 import com.microfocus.application.automation.tools.AlmToolsUtils;
 import com.microfocus.application.automation.tools.EncryptionUtils;
 import com.microfocus.application.automation.tools.run.AlmRunTypes.RunType;
@@ -325,7 +326,7 @@ public class RunFromAlmBuilder extends Builder implements SimpleBuildStep {
             propsFileName.copyFrom(propsStream);
 
             // Copy the script to the project workspace
-            CmdLineExe.copyFrom(cmdExeUrl);
+            AlmToolsBinaryCache.copyTo(cmdExeUrl, CmdLineExe);
         } catch (IOException e1) {
             build.setResult(Result.FAILURE);
             // TODO Auto-generated catch block
@@ -28,6 +28,7 @@
 
 package com.microfocus.application.automation.tools.run;
 
+import com.microfocus.application.automation.tools.AlmToolsBinaryCache;
 import com.microfocus.application.automation.tools.AlmToolsUtils;
 import com.microfocus.application.automation.tools.EncryptionUtils;
 import com.microfocus.application.automation.tools.Messages;
@@ -37,6 +38,7 @@ import com.microfocus.application.automation.tools.settings.MCServerSettingsGlob
 import com.microfocus.application.automation.tools.lr.model.SummaryDataLogModel;
 import com.microfocus.application.automation.tools.lr.model.ScriptRTSSetModel;
 import com.microfocus.application.automation.tools.uft.model.UftSettingsModel;
+import com.microfocus.application.automation.tools.uft.utils.UftReportFoldersCleaner;
 import com.microfocus.application.automation.tools.uft.utils.UftToolUtils;
 import hudson.*;
 import hudson.model.*;
@@ -755,15 +757,23 @@ public class RunFromFileBuilder extends Builder implements SimpleBuildStep {
            }
            //cleanup report folders before running the build
            String selectedNode = env.get("NODE_NAME");
+           List<String> testPaths = new ArrayList<>();
            int index = 1;
            while (mergedProperties.getProperty("Test" + index) != null) {
-               String testPath = mergedProperties.getProperty(("Test" + index));
-               List<String> buildTests = UftToolUtils.getBuildTests(selectedNode, testPath);
-               for(String test : buildTests) {
-                   UftToolUtils.deleteReportFoldersFromNode(selectedNode, test);
-               }
+               testPaths.add(mergedProperties.getProperty(("Test" + index)));
                index++;
            }
+           try {
+               UftReportFoldersCleaner.Summary cleanupSummary = UftToolUtils.deleteReportFoldersFromNode(selectedNode, testPaths);
+               if (cleanupSummary != null) {
+                   listener.getLogger().println(String.format("Deleted %d report folders of %d tests", cleanupSummary.getDeletedCount(), cleanupSummary.getTestCount()));
+                   for (String failure : cleanupSummary.getFailures()) {
+                       listener.getLogger().println("Failed to delete report folder " + failure);
+                   }
+               }
+           } catch (IOException | InterruptedException e) {
+               listener.getLogger().println("Failed to delete report folders : " + e.getMessage());
+           }
 
            // get properties serialized into a stream
            ByteArrayOutputStream stream = new ByteArrayOutputStream();
@@ -802,9 +812,9 @@ public class RunFromFileBuilder extends Builder implements SimpleBuildStep {
                    propsFileName.copyFrom(propsStream);
 
                    // Copy the script to the project workspace
-                   CmdLineExe.copyFrom(cmdExeUrl);
+                   AlmToolsBinaryCache.copyTo(cmdExeUrl, CmdLineExe);
 
-                   CmdLineExe2.copyFrom(cmdExe2Url);
+                   AlmToolsBinaryCache.copyTo(cmdExe2Url, CmdLineExe2);
 
                } catch (IOException | InterruptedException e) {
                    build.setResult(Result.FAILURE);
@@ -101,15 +101,12 @@ public class SvChangeModeBuilder extends AbstractSvRunBuilder<SvChangeModeModel>
         public String call() throws Exception {
             PrintStream logger = listener.getLogger();
 
-            ICommandExecutor exec = createCommandExecutor();
-            for (ServiceInfo service : getServiceList(false, logger, workspace)) {
-                changeServiceMode(service, logger, exec);
-            }
+            processServices(getServiceList(false, logger, workspace), this::changeServiceMode, logger);
 
             return null;
         }
 
-        private void changeServiceMode(ServiceInfo serviceInfo, PrintStream logger, ICommandExecutor commandExecutor) throws Exception {
+        private void changeServiceMode(ServiceInfo serviceInfo, ICommandExecutor commandExecutor, PrintStream logger) throws Exception {
 
             String dataModel = model.getDataModel().getSelectedModelName();
             String performanceModel = model.getPerformanceModel().getSelectedModelName();
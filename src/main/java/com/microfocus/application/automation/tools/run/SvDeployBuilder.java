@@ -31,12 +31,14 @@ package com.microfocus.application.automation.tools.run;
 import javax.annotation.Nonnull;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.List;
 
 import com.microfocus.application.automation.tools.model.SvDeployModel;
 import com.microfocus.application.automation.tools.model.SvServerSettingsModel;
 import com.microfocus.application.automation.tools.sv.runner.AbstractSvRemoteRunner;
 import com.microfocus.application.automation.tools.sv.runner.AbstractSvRunBuilder;
 import com.microfocus.application.automation.tools.sv.runner.AbstractSvRunDescriptor;
+import com.microfocus.application.automation.tools.sv.runner.ServiceInfo;
 import com.microfocus.sv.svconfigurator.core.IDataModel;
 import com.microfocus.sv.svconfigurator.core.IPerfModel;
 import com.microfocus.sv.svconfigurator.core.IProject;
@@ -113,15 +115,18 @@ public class SvDeployBuilder extends AbstractSvRunBuilder<SvDeployModel> {
         }
 
         private void deployServiceFromProject(IProject project, PrintStream logger) throws Exception {
-            IDeployProcessor processor = new DeployProcessor(null);
-            ICommandExecutor commandExecutor = createCommandExecutor();
-
+            List<ServiceInfo> services = new ArrayList<>();
             for (IService service : getServiceList(project)) {
-                logger.printf("  Deploying service '%s' [%s] %n", service.getName(), service.getId());
-                DeployProcessorInput deployInput = new DeployProcessorInput(model.isForce(), false, project, model.getService(), null, false);
+                services.add(new ServiceInfo(service.getId(), service.getName()));
+            }
+
+            processServices(services, (service, commandExecutor, serviceLogger) -> {
+                serviceLogger.printf("  Deploying service '%s' [%s] %n", service.getName(), service.getId());
+                IDeployProcessor processor = new DeployProcessor(null);
+                DeployProcessorInput deployInput = new DeployProcessorInput(model.isForce(), false, project, service.getId(), null, false);
                 deployInput.setFirstAgentFailover(model.isFirstAgentFallback());
                 processor.process(deployInput, commandExecutor);
-            }
+            }, logger);
         }
     }
 
@@ -102,34 +102,34 @@ public class SvExportBuilder extends AbstractSvRunBuilder<SvExportModel> {
 
             verifyNotNull(model.getTargetDirectory(), "Target directory must be set");
 
-            ExportProcessor exportProcessor = new ExportProcessor(null);
-            IChmodeProcessor chmodeProcessor = new ChmodeProcessor(null);
             IProject project = null;
             String targetDirectory = workspace.child(model.getTargetDirectory()).getRemote();
 
-            ICommandExecutor exec = createCommandExecutor();
-
             if (model.isCleanTargetDirectory()) {
                 cleanTargetDirectory(logger, new FilePath(new File(targetDirectory)));
             }
 
-            if (model.getServiceSelection().getSelectionType().equals(SvServiceSelectionModel.SelectionType.PROJECT)) {
+            boolean exportProject = model.getServiceSelection().getSelectionType().equals(SvServiceSelectionModel.SelectionType.PROJECT);
+            if (exportProject) {
                 project = new ProjectBuilder().buildProject(new File(model.getServiceSelection().getProjectPath()), model.getServiceSelection().getProjectPassword());
             }
 
-            for (ServiceInfo serviceInfo : getServiceList(false, logger, workspace)) {
+            processServices(getServiceList(false, logger, workspace), (serviceInfo, exec, serviceLogger) -> {
                 if (model.isSwitchToStandByFirst()) {
-                    switchToStandBy(serviceInfo, chmodeProcessor, exec, logger);
+                    switchToStandBy(serviceInfo, new ChmodeProcessor(null), exec, serviceLogger);
                 }
 
-                logger.printf("  Exporting service '%s' [%s] to %s %n", serviceInfo.getName(), serviceInfo.getId(), targetDirectory);
-                verifyNotLearningBeforeExport(logger, exec, serviceInfo);
-                if (!model.getServiceSelection().getSelectionType().equals(SvServiceSelectionModel.SelectionType.PROJECT)) {
-                    exportProcessor.process(exec, targetDirectory, serviceInfo.getId(), project, false, model.isArchive(), false);
+                serviceLogger.printf("  Exporting service '%s' [%s] to %s %n", serviceInfo.getName(), serviceInfo.getId(), targetDirectory);
+                if (!model.isSwitchToStandByFirst()) {
+                    verifyNotLearningBeforeExport(serviceLogger, exec, serviceInfo);
                 }
-            }
-            if (model.getServiceSelection().getSelectionType().equals(SvServiceSelectionModel.SelectionType.PROJECT)) {
-                exportProcessor.process(exec, targetDirectory, null, project, false, model.isArchive(), false);
+                if (!exportProject) {
+                    new ExportProcessor(null).process(exec, targetDirectory, serviceInfo.getId(), null, false, model.isArchive(), false);
+                }
+            }, logger);
+
+            if (exportProject) {
+                new ExportProcessor(null).process(createCommandExecutor(), targetDirectory, null, project, false, model.isArchive(), false);
             }
             return null;
         }
@@ -77,16 +77,17 @@ public class SvUndeployBuilder extends AbstractSvRunBuilder<SvUndeployModel> {
         public String call() throws Exception {
             PrintStream logger = listener.getLogger();
 
-            IUndeployProcessor processor = new UndeployProcessor(null);
-            ICommandExecutor exec = createCommandExecutor();
-            for (ServiceInfo service : getServiceList(model.isContinueIfNotDeployed(), logger, workspace)) {
-                logger.printf("  Undeploying service '%s' [%s] %n", service.getName(), service.getId());
-                UndeployProcessorInput undeployProcessorInput = new UndeployProcessorInput(model.isForce(), null, service.getId());
-                processor.process(undeployProcessorInput, exec);
-            }
+            processServices(getServiceList(model.isContinueIfNotDeployed(), logger, workspace), this::undeployService, logger);
 
             return null;
         }
+
+        private void undeployService(ServiceInfo service, ICommandExecutor exec, PrintStream logger) throws Exception {
+            logger.printf("  Undeploying service '%s' [%s] %n", service.getName(), service.getId());
+            IUndeployProcessor processor = new UndeployProcessor(null);
+            UndeployProcessorInput undeployProcessorInput = new UndeployProcessorInput(model.isForce(), null, service.getId());
+            processor.process(undeployProcessorInput, exec);
+        }
     }
     @Override
     protected void logConfig(PrintStream logger, String prefix) {
@@ -52,8 +52,14 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -66,6 +72,8 @@ import java.util.regex.Pattern;
  */
 public class UploadAppBuilder extends Builder {
 
+    private static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 3;
+
     private final UploadAppModel uploadAppModel;
 
     @DataBoundConstructor
@@ -85,7 +93,6 @@ public class UploadAppBuilder extends Builder {
         // get the UFT Mobile server settings
         MCServerSettingsModel mcServerSettingsModel = getMCServerSettingsModel();
         JobConfigurationProxy job = JobConfigurationProxy.getInstance();
-        JSONObject app = null;
         String mcServerUrl = "";
         PrintStream out = listener.getLogger();
         List<UploadAppPathModel> paths = null;
@@ -101,104 +108,157 @@ public class UploadAppBuilder extends Builder {
             out.println(String.format("There are %d apps to be uploaded.", paths.size()));
             String workspace = build.getWorkspace() == null ? "" : build.getWorkspace().toURI().getPath();
 
-            for(int i=1; i<=paths.size(); i++){
-                String path = paths.get(i-1).getMcAppPath();
-                String originPath = path;
-                if(StringUtils.isNullOrEmpty(path)){
-                    out.println(String.format("ignore the empty app %d upload", i));
-                    continue;
-                }
-                //case insensitive replace of workspace to its real path
-                if (path.toUpperCase(Locale.ENGLISH).startsWith("${WORKSPACE}")){
-                    path = path.replaceAll("(?i)"+ Pattern.quote("${WORKSPACE}"), Matcher.quoteReplacement(workspace));
-                    if (!FilenameUtils.normalize(path).startsWith(FilenameUtils.normalize(workspace))){
-                        out.println(String.format("Failed to upload app, Cause invalid application file: %s", path));
-                        build.setResult(Result.FAILURE);
-                        allSuccess = false;
-                        continue;
-                    }
+            //apps are uploaded in parallel, results are checked in the order of the apps
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(paths.size(), getMaxConcurrentUploads())));
+            List<Future<UploadStatus>> uploads = new ArrayList<>();
+            boolean interrupted = false;
+            try {
+                for(int i=1; i<=paths.size(); i++){
+                    final int index = i;
+                    final String path = paths.get(i-1).getMcAppPath();
+                    final String serverUrl = mcServerUrl;
+                    uploads.add(executor.submit(() -> uploadApp(index, path, build, listener, job, serverUrl, workspace)));
                 }
-                FilePath filePath = new FilePath(build.getWorkspace().getChannel(), path);
-                File tempFile = null;
-                if (filePath.isRemote()){
-                    tempFile = File.createTempFile("uftm", "." + FilenameUtils.getExtension(path));
-                    try (OutputStream outputStream = new FileOutputStream(tempFile)) {
-                        filePath.copyTo(outputStream);
-                        path = tempFile.getCanonicalPath();
-                    } catch (NoSuchFileException noSuchFileException){
-                        out.println(String.format("Failed to upload app, Cause cannot find application file: %s", path));
+                for (Future<UploadStatus> upload : uploads) {
+                    UploadStatus status = upload.get();
+                    if (status == UploadStatus.INTERRUPTED) {
+                        build.setResult(Result.ABORTED);
+                        return false;
+                    } else if (status == UploadStatus.ABORTED) {
                         build.setResult(Result.FAILURE);
-                        allSuccess = false;
-                        continue;
-                    } catch (Exception e){
-                        out.println(String.format("Failed to upload app, Cause failed to copy application file: %s", path));
+                        return false;
+                    } else if (status == UploadStatus.FAILED) {
                         build.setResult(Result.FAILURE);
                         allSuccess = false;
-                        continue;
                     }
                 }
+            } catch (ExecutionException e) {
+                out.println("Failed to upload app to UFT Mobile server. Cause: " + e.getCause());
+                build.setResult(Result.FAILURE);
+                return false;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                build.setResult(Result.ABORTED);
+                return false;
+            } finally {
+                awaitUploads(executor, uploads, interrupted);
+            }
+        }
+        return allSuccess;
+    }
 
-                try{
-                    out.println(String.format("starting to upload app %d %s", i, originPath));
-                    if(uploadAppModel.getProxySettings() == null){
-                        app = job.upload(mcServerUrl, uploadAppModel.getMcUserName(),uploadAppModel.getMcPassword(), uploadAppModel.getMcTenantId(), null, null, null, path);
-                    }else{
-                        app = job.upload(mcServerUrl, uploadAppModel.getMcUserName(),uploadAppModel.getMcPassword(), uploadAppModel.getMcTenantId(), uploadAppModel.getProxySettings().getFsProxyAddress(),uploadAppModel.getProxySettings().getFsProxyUserName(), uploadAppModel.getProxySettings().getFsProxyPassword(),path);
-                    }
-                    if(app == null){
-                        if(uploadAppModel.isUseProxy()){
-                            out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s",
-                                    mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress()));
-                        }else if(uploadAppModel.isUseAuthentication()){
-                            out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s, proxy userName:%s",
-                                    mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
-                        }else{
-                            out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s,",
-                                    mcServerUrl, uploadAppModel.getMcUserName()));
-                        }
-                        build.setResult(Result.FAILURE);
-                        return false;
-                    }
-                    if((Boolean)app.get("error")){
-                        out.println("Job failed because got error message during the application uploading. " + app.toJSONString());
-                        allSuccess = false;
-                        build.setResult(Result.FAILURE);
-                    }
-                    out.println("uploaded app info: " + app.toJSONString());
-                } catch(FileNotFoundException fnf){
-                    out.println(String.format("Failed to upload app to UFT Mobile server. Cause: File: %s is not found.", path));
-                    build.setResult(Result.FAILURE);
-                    allSuccess = false;
-                    continue;
-                } catch (IOException ioe) {
-                    Util.displayIOException(ioe, listener);
-                    build.setResult(Result.FAILURE);
-                    allSuccess = false;
-                    continue;
-                } catch (InterruptedException e) {
-                    build.setResult(Result.ABORTED);
-                    return false;
-                } catch (Exception e){
-                    if(uploadAppModel.isUseProxy()){
-                        out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s",
-                                mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress()));
-                    }else if(uploadAppModel.isUseAuthentication()){
-                        out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s, proxy userName:%s",
-                                mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
-                    }else{
-                        out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s,",
-                                mcServerUrl, uploadAppModel.getMcUserName()));
-                    }
-                    build.setResult(Result.FAILURE);
-                    return false;
-                } finally {
-                    if (tempFile != null) {
-                        Files.delete(tempFile.toPath());
-                    }
+    /**
+     * Uploads that did not start yet are cancelled, the running ones are waited for,
+     * so no upload uses the build after the step is finished
+     */
+    private static void awaitUploads(ExecutorService executor, List<Future<UploadStatus>> uploads, boolean interrupted) throws InterruptedException {
+        for (Future<UploadStatus> upload : uploads) {
+            upload.cancel(false);
+        }
+        if (interrupted) {
+            executor.shutdownNow();
+        } else {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    private UploadStatus uploadApp(int i, String path, AbstractBuild<?, ?> build, BuildListener listener, JobConfigurationProxy job, String mcServerUrl, String workspace) throws IOException {
+        PrintStream out = listener.getLogger();
+        JSONObject app;
+        String originPath = path;
+        if(StringUtils.isNullOrEmpty(path)){
+            out.println(String.format("ignore the empty app %d upload", i));
+            return UploadStatus.SKIPPED;
+        }
+        //case insensitive replace of workspace to its real path
+        if (path.toUpperCase(Locale.ENGLISH).startsWith("${WORKSPACE}")){
+            path = path.replaceAll("(?i)"+ Pattern.quote("${WORKSPACE}"), Matcher.quoteReplacement(workspace));
+            if (!FilenameUtils.normalize(path).startsWith(FilenameUtils.normalize(workspace))){
+                out.println(String.format("Failed to upload app, Cause invalid application file: %s", path));
+                return UploadStatus.FAILED;
+            }
+        }
+        FilePath filePath = new FilePath(build.getWorkspace().getChannel(), path);
+        File tempFile = null;
+        if (filePath.isRemote()){
+            tempFile = File.createTempFile("uftm", "." + FilenameUtils.getExtension(path));
+            try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+                filePath.copyTo(outputStream);
+                path = tempFile.getCanonicalPath();
+            } catch (NoSuchFileException noSuchFileException){
+                out.println(String.format("Failed to upload app, Cause cannot find application file: %s", path));
+                return UploadStatus.FAILED;
+            } catch (Exception e){
+                out.println(String.format("Failed to upload app, Cause failed to copy application file: %s", path));
+                return UploadStatus.FAILED;
+            }
+        }
+
+        try{
+            out.println(String.format("starting to upload app %d %s", i, originPath));
+            if(uploadAppModel.getProxySettings() == null){
+                app = job.upload(mcServerUrl, uploadAppModel.getMcUserName(),uploadAppModel.getMcPassword(), uploadAppModel.getMcTenantId(), null, null, null, path);
+            }else{
+                app = job.upload(mcServerUrl, uploadAppModel.getMcUserName(),uploadAppModel.getMcPassword(), uploadAppModel.getMcTenantId(), uploadAppModel.getProxySettings().getFsProxyAddress(),uploadAppModel.getProxySettings().getFsProxyUserName(), uploadAppModel.getProxySettings().getFsProxyPassword(),path);
+            }
+            if(app == null){
+                if(uploadAppModel.isUseProxy()){
+                    out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s",
+                            mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress()));
+                }else if(uploadAppModel.isUseAuthentication()){
+                    out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s, proxy userName:%s",
+                            mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
+                }else{
+                    out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s,",
+                            mcServerUrl, uploadAppModel.getMcUserName()));
                 }
+                return UploadStatus.ABORTED;
+            }
+            UploadStatus status = UploadStatus.UPLOADED;
+            if((Boolean)app.get("error")){
+                out.println("Job failed because got error message during the application uploading. " + app.toJSONString());
+                status = UploadStatus.FAILED;
+            }
+            out.println("uploaded app info: " + app.toJSONString());
+            return status;
+        } catch(FileNotFoundException fnf){
+            out.println(String.format("Failed to upload app to UFT Mobile server. Cause: File: %s is not found.", path));
+            return UploadStatus.FAILED;
+        } catch (IOException ioe) {
+            Util.displayIOException(ioe, listener);
+            return UploadStatus.FAILED;
+        } catch (InterruptedException e) {
+            return UploadStatus.INTERRUPTED;
+        } catch (Exception e){
+            if(uploadAppModel.isUseProxy()){
+                out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s",
+                        mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress()));
+            }else if(uploadAppModel.isUseAuthentication()){
+                out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s, Proxy url:%s, proxy userName:%s",
+                        mcServerUrl, uploadAppModel.getMcUserName(), uploadAppModel.getProxySettings().getFsProxyAddress(), uploadAppModel.getProxySettings().getFsProxyUserName()));
+            }else{
+                out.println(String.format("Failed to upload app, Cause UFT Mobile connection info is incorrect. url:%s, username:%s,",
+                        mcServerUrl, uploadAppModel.getMcUserName()));
+            }
+            return UploadStatus.ABORTED;
+        } finally {
+            if (tempFile != null) {
+                Files.delete(tempFile.toPath());
             }
         }
-        return allSuccess;
+    }
+
+    private static int getMaxConcurrentUploads() {
+        String value = System.getProperty("UploadAppBuilder.MaxConcurrentUploads"); // let's us config the number of apps uploaded in parallel. default is 3.
+        if (!StringUtils.isNullOrEmpty(value)) {
+            return Integer.parseInt(value);
+        }
+        return DEFAULT_MAX_CONCURRENT_UPLOADS;
+    }
+
+    private enum UploadStatus {
+        UPLOADED, SKIPPED, FAILED, ABORTED, INTERRUPTED
     }
 
     public MCServerSettingsModel getMCServerSettingsModel() {
@@ -0,0 +1,199 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.sse.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.microfocus.application.automation.tools.common.SSEException;
+
+/**
+ * Streaming (StAX) counterpart of {@link XPathUtils#toEntities(String)}.
+ * Every top level ALM entity is handed to the consumer as soon as it is read, so a response
+ * is never materialized as a DOM and only one entity is held in memory at a time.
+ */
+public class EntityStreamParser {
+
+    public static final int UNKNOWN_TOTAL_RESULTS = -1;
+
+    private static final String ENTITY = "Entity";
+    private static final String ENTITIES = "Entities";
+    private static final String FIELD = "Field";
+    private static final String VALUE = "Value";
+    private static final String NAME = "Name";
+    private static final String TOTAL_RESULTS = "TotalResults";
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private EntityStreamParser() {
+    }
+
+    /**
+     * Parses the entities of the given response body.
+     *
+     * @param xml      the response body
+     * @param consumer receives the fields (name to value) of every entity
+     * @return the page summary
+     */
+    public static Page parse(byte[] xml, Consumer<Map<String, String>> consumer) {
+
+        return parse(new ByteArrayInputStream(xml), consumer);
+    }
+
+    public static Page parse(InputStream xml, Consumer<Map<String, String>> consumer) {
+
+        Page ret = new Page();
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(xml);
+            int entityDepth = 0;
+            Map<String, String> currEntity = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (ENTITIES.equals(name) && currEntity == null) {
+                        ret.totalResults = toInt(reader.getAttributeValue(null, TOTAL_RESULTS));
+                    } else if (ENTITY.equals(name)) {
+                        if (entityDepth++ == 0) {
+                            currEntity = new HashMap<String, String>();
+                        }
+                    } else if (FIELD.equals(name) && entityDepth == 1) {
+                        String fieldName = reader.getAttributeValue(null, NAME);
+                        currEntity.put(fieldName, readFieldValue(reader));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && ENTITY.equals(reader.getLocalName())) {
+                    if (--entityDepth == 0) {
+                        consumer.accept(currEntity);
+                        currEntity = null;
+                        ret.count++;
+                    }
+                }
+            }
+        } catch (XMLStreamException cause) {
+            throw new SSEException(cause);
+        } finally {
+            close(reader);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Reads the text of the first Value element of a Field and leaves the reader on the Field end element.
+     */
+    private static String readFieldValue(XMLStreamReader reader) throws XMLStreamException {
+
+        String ret = null;
+        boolean valueRead = false;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (!valueRead && depth == 2 && VALUE.equals(reader.getLocalName())) {
+                    valueRead = true;
+                    String text = reader.getElementText();
+                    ret = text.isEmpty() ? null : text;
+                    depth--;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        return ret;
+    }
+
+    private static int toInt(String value) {
+
+        if (StringUtils.isNullOrEmpty(value)) {
+            return UNKNOWN_TOTAL_RESULTS;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return UNKNOWN_TOTAL_RESULTS;
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // nothing to do
+            }
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Summary of a parsed page of entities.
+     */
+    public static class Page {
+
+        private int totalResults = UNKNOWN_TOTAL_RESULTS;
+        private int count;
+
+        /**
+         * @return the TotalResults attribute of the response, or {@link #UNKNOWN_TOTAL_RESULTS}
+         */
+        public int getTotalResults() {
+
+            return totalResults;
+        }
+
+        /**
+         * @return the number of entities read from the response
+         */
+        public int getCount() {
+
+            return count;
+        }
+    }
+}
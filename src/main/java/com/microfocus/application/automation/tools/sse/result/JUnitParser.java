@@ -45,74 +45,89 @@ import com.microfocus.application.automation.tools.sse.result.model.junit.Testsu
 public class JUnitParser {
 
     private String entityId;
-    
-    public Testsuites toModel(
-            List<Map<String, String>> testInstanceRuns,
+    private String entityName;
+    private String runEntityId;
+    private String url;
+    private String domain;
+    private String project;
+    private final Map<String, Testsuite> testSetIdToTestsuite = new HashMap<String, Testsuite>();
+
+    public JUnitParser() {
+
+    }
+
+    /**
+     * Creates a parser which builds the model incrementally, one test instance run at a time.
+     *
+     * @see #add(Map)
+     * @see #getModel()
+     */
+    public JUnitParser(
             String entityId,
             String entityName,
             String runEntityId,
             String url,
             String domain,
             String project) {
+
         this.entityId = entityId;
-        Map<String, Testsuite> testSetIdToTestsuite = getTestSets(testInstanceRuns);
-        addTestcases(
-                testInstanceRuns,
-                testSetIdToTestsuite,
-                entityName,
-                runEntityId,
-                url,
-                domain,
-                project);
-        
-        return createTestsuites(testSetIdToTestsuite);
+        this.entityName = entityName;
+        this.runEntityId = runEntityId;
+        this.url = url;
+        this.domain = domain;
+        this.project = project;
     }
-    
-    private Testsuites createTestsuites(Map<String, Testsuite> testSetIdToTestsuite) {
-        
-        Testsuites ret = new Testsuites();
-        List<Testsuite> testsuites = ret.getTestsuite();
-        for (Testsuite currTestsuite : testSetIdToTestsuite.values()) {
-            testsuites.add(currTestsuite);
-        }
-        
-        return ret;
-    }
-    
-    private void addTestcases(
+
+    public Testsuites toModel(
             List<Map<String, String>> testInstanceRuns,
-            Map<String, Testsuite> testSetIdToTestsuite,
-            String bvsName,
+            String entityId,
+            String entityName,
             String runEntityId,
             String url,
             String domain,
             String project) {
-        
+
+        JUnitParser parser = new JUnitParser(entityId, entityName, runEntityId, url, domain, project);
         for (Map<String, String> currEntity : testInstanceRuns) {
-            addTestcase(
-                    testSetIdToTestsuite,
-                    currEntity,
-                    bvsName,
-                    runEntityId,
-                    url,
-                    domain,
-                    project);
+            parser.add(currEntity);
         }
+
+        return parser.getModel();
     }
-    
-    private void addTestcase(
-            Map<String, Testsuite> testSetIdToTestsuite,
-            Map<String, String> currEntity,
-            String bvsName,
-            String runEntityId,
-            String url,
-            String domain,
-            String project) {
-        
-        testSetIdToTestsuite.get(getTestSetId(currEntity)).getTestcase().add(
-                getTestcase(currEntity, bvsName, runEntityId, url, domain, project));
+
+    /**
+     * Adds a test instance run to the test suite of its test set.
+     *
+     * @param testInstanceRun the fields of the test instance run entity
+     */
+    public void add(Map<String, String> testInstanceRun) {
+
+        String testSetId = getTestSetId(testInstanceRun);
+        Testsuite testsuite = testSetIdToTestsuite.get(testSetId);
+        if (testsuite == null) {
+            testsuite = new Testsuite();
+            testSetIdToTestsuite.put(testSetId, testsuite);
+        }
+        testsuite.getTestcase().add(
+                getTestcase(testInstanceRun, entityName, runEntityId, url, domain, project));
     }
-    
+
+    public boolean isEmpty() {
+
+        return testSetIdToTestsuite.isEmpty();
+    }
+
+    public Testsuites getModel() {
+
+        Testsuites ret = new Testsuites();
+        List<Testsuite> testsuites = ret.getTestsuite();
+        for (Testsuite currTestsuite : testSetIdToTestsuite.values()) {
+            testsuites.add(currTestsuite);
+        }
+
+        return ret;
+    }
+
     private Testcase getTestcase(
             Map<String, String> entity,
             String bvsName,
@@ -162,20 +177,6 @@ public class JUnitParser {
         return ret;
     }
     
-    private Map<String, Testsuite> getTestSets(List<Map<String, String>> testInstanceRuns) {
-        
-        Map<String, Testsuite> ret = new HashMap<String, Testsuite>();
-        for (Map<String, String> currEntity : testInstanceRuns) {
-            
-            String testSetId = getTestSetId(currEntity);
-            if (!ret.containsKey(testSetId)) {
-                ret.put(testSetId, new Testsuite());
-            }
-        }
-        
-        return ret;
-    }
-    
     private String getTestSetId(Map<String, String> entity) {
         
         return entity.get("testcycl-id");
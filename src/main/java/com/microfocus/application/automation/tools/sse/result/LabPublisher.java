@@ -74,4 +74,10 @@ public class LabPublisher extends Publisher {
         
         return new GetLabRunEntityTestSetRunsRequest(_client, _runId);
     }
+
+    @Override
+    protected GetRequest getRunEntityTestSetRunsPageRequest(Client client, String runId, int startIndex, int pageSize) {
+
+        return new GetLabRunEntityTestSetRunsRequest(_client, _runId, startIndex, pageSize);
+    }
 }
@@ -28,11 +28,7 @@
 
 package com.microfocus.application.automation.tools.sse.result;
 
-import java.util.List;
-import java.util.Map;
-
-import com.microfocus.application.automation.tools.sse.common.StringUtils;
-import com.microfocus.application.automation.tools.sse.common.XPathUtils;
+import com.microfocus.application.automation.tools.sse.common.EntityStreamParser;
 import com.microfocus.application.automation.tools.sse.result.model.junit.Testsuites;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
@@ -55,24 +51,25 @@ public abstract class Publisher extends Handler {
             String project,
             Logger logger) {
         
-        Testsuites ret = null;
-        GetRequest testSetRunsRequest = getRunEntityTestSetRunsRequest(_client, _runId);
-        Response response = testSetRunsRequest.execute();
-        List<Map<String, String>> testInstanceRun = getTestInstanceRun(response, logger);
         String entityName = getEntityName(nameSuffix, logger);
-        if (testInstanceRun != null && testInstanceRun.size() > 0) {
-            ret =
-                    new JUnitParser().toModel(
-                            testInstanceRun,
-                            this.getEntityId(),
-                            entityName,
-                            _runId,
-                            url,
-                            domain,
-                            project);
+        JUnitParser parser = new JUnitParser(this.getEntityId(), entityName, _runId, url, domain, project);
+        int startIndex = 1;
+        GetRequest testSetRunsRequest = getRunEntityTestSetRunsRequest(_client, _runId);
+        while (testSetRunsRequest != null) {
+            Response response = testSetRunsRequest.execute();
+            EntityStreamParser.Page page = addTestInstanceRuns(response, parser, logger);
+            if (page == null || page.getCount() == 0) {
+                break;
+            }
+            startIndex += page.getCount();
+            if (page.getTotalResults() != EntityStreamParser.UNKNOWN_TOTAL_RESULTS
+                && startIndex > page.getTotalResults()) {
+                break;
+            }
+            testSetRunsRequest = getRunEntityTestSetRunsPageRequest(_client, _runId, startIndex, page.getCount());
         }
         
-        return ret;
+        return parser.isEmpty() ? null : parser.getModel();
     }
     
     protected Response getEntityName(String nameSuffix) {
@@ -80,15 +77,21 @@ public abstract class Publisher extends Handler {
         return new GetRunEntityNameRequest(_client, nameSuffix, _entityId).execute();
     }
     
-    protected List<Map<String, String>> getTestInstanceRun(Response response, Logger logger) {
+    /**
+     * Streams the test instance runs of a response page into the parser.
+     *
+     * @return the page summary, or null if the response could not be parsed
+     */
+    protected EntityStreamParser.Page addTestInstanceRuns(Response response, JUnitParser parser, Logger logger) {
         
-        List<Map<String, String>> ret = null;
+        EntityStreamParser.Page ret = null;
         try {
-            if (!StringUtils.isNullOrEmpty(response.toString())) {
-                ret = XPathUtils.toEntities(response.toString());
+            byte[] data = response.getData();
+            if (data != null && data.length > 0) {
+                ret = EntityStreamParser.parse(data, parser::add);
             }
 
-            if (ret ==null || ret.size() == 0) {
+            if ((ret == null || ret.getCount() == 0) && parser.isEmpty()) {
                 logger.log(String.format(
                         "Parse TestInstanceRuns from response XML got no result. Response: %s",
                         response.toString()));
@@ -98,10 +101,23 @@ public abstract class Publisher extends Handler {
                     "Failed to parse TestInstanceRuns response XML. Exception: %s, XML: %s",
                     cause.getMessage(),
                     response.toString()));
+            ret = null;
         }
         
         return ret;
     }
+
+    /**
+     * Gets the request of the next page of test instance runs.
+     * Entities which are returned in a single response are not paged, in which case this returns null.
+     *
+     * @param startIndex 1-based index of the first test instance run of the page
+     * @param pageSize   the size of the previous page
+     */
+    protected GetRequest getRunEntityTestSetRunsPageRequest(Client client, String runId, int startIndex, int pageSize) {
+
+        return null;
+    }
     
     protected abstract GetRequest getRunEntityTestSetRunsRequest(Client client, String runId);
     
@@ -28,11 +28,10 @@
 
 package com.microfocus.application.automation.tools.sse.sdk.handler;
 
-import java.util.List;
 import java.util.Map;
 
+import com.microfocus.application.automation.tools.sse.common.EntityStreamParser;
 import com.microfocus.application.automation.tools.sse.common.StringUtils;
-import com.microfocus.application.automation.tools.sse.common.XPathUtils;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import com.microfocus.application.automation.tools.sse.sdk.Response;
@@ -55,16 +54,14 @@ public class EventLogHandler extends Handler {
         Response eventLog = null;
         try {
             eventLog = getEventLog();
-            String xml = eventLog.toString();
-            List<Map<String, String>> entities = XPathUtils.toEntities(xml);
-            for (Map<String, String> currEntity : entities) {
+            EntityStreamParser.parse(eventLog.getData(), currEntity -> {
                 if (isNew(currEntity)) {
                     logger.log(String.format(
                             "%s:%s",
                             currEntity.get("creation-time"),
                             currEntity.get("description")));
                 }
-            }
+            });
             ret = true;
         } catch (Throwable cause) {
             logger.log(String.format(
@@ -92,7 +89,8 @@ public class EventLogHandler extends Handler {
     
     private Response getEventLog() {
         
-        return new EventLogRequest(_client, _timeslotId).execute();
+        // only events newer than the last one already printed are requested
+        return new EventLogRequest(_client, _timeslotId, _lastRead).execute();
     }
     
 }
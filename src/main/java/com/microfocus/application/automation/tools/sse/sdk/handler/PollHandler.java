@@ -28,6 +28,9 @@
 
 package com.microfocus.application.automation.tools.sse.sdk.handler;
 
+import java.util.Arrays;
+
+import com.microfocus.application.automation.tools.common.AdaptivePoller;
 import com.microfocus.application.automation.tools.sse.sdk.Client;
 import com.microfocus.application.automation.tools.sse.sdk.Logger;
 import com.microfocus.application.automation.tools.sse.sdk.Response;
@@ -63,20 +66,29 @@ public abstract class PollHandler extends Handler {
         
         boolean ret = false;
         int failures = 0;
-        while (failures < 3) {
-            Response response = getResponse();
-            if (isOk(response, logger)) {
-                log(logger);
-                if (isFinished(response, logger)) {
-                    ret = true;
-                    logRunEntityResults(getRunEntityResultsResponse(), logger);
+        int lastResponseHash = 0;
+        try (AdaptivePoller poller = new AdaptivePoller(_interval)) {
+            while (failures < 3) {
+                long delay;
+                Response response = getResponse();
+                if (isOk(response, logger)) {
+                    log(logger);
+                    if (isFinished(response, logger)) {
+                        ret = true;
+                        logRunEntityResults(getRunEntityResultsResponse(), logger);
+                        break;
+                    }
+                    // any change of the polled entity is treated as a state transition
+                    int responseHash = Arrays.hashCode(response.getData());
+                    delay = poller.onSuccess(responseHash != lastResponseHash);
+                    lastResponseHash = responseHash;
+                } else {
+                    ++failures;
+                    delay = poller.onFailure();
+                }
+                if (sleep(poller, delay, logger)) { // interrupted
                     break;
                 }
-            } else {
-                ++failures;
-            }
-            if (sleep(logger)) { // interrupted
-                break;
             }
         }
         
@@ -107,17 +119,16 @@ public abstract class PollHandler extends Handler {
         return ret;
     }
     
-    protected boolean sleep(Logger logger) throws InterruptedException {
-        
-        boolean ret = false;
+    private boolean sleep(AdaptivePoller poller, long delay, Logger logger) throws InterruptedException {
+
         try {
-            Thread.sleep(_interval);
+            poller.await(delay);
         } catch (InterruptedException ex) {
             logger.log("Interrupted while polling");
             throw ex;
         }
-        
-        return ret;
+
+        return false;
     }
     
     protected void log(Logger logger) {}
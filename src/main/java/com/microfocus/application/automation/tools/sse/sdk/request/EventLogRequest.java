@@ -33,18 +33,30 @@ import com.microfocus.application.automation.tools.sse.sdk.Client;
 public class EventLogRequest extends GetRequest {
     
     private final String _timeslotId;
+    private final int _lastReadId;
     
     public EventLogRequest(Client client, String timeslotId) {
         
+        this(client, timeslotId, -1);
+    }
+
+    /**
+     * @param lastReadId the id of the last event already read, only newer events are requested.
+     *                   A negative value requests the whole event log.
+     */
+    public EventLogRequest(Client client, String timeslotId, int lastReadId) {
+
         super(client, timeslotId);
         _timeslotId = timeslotId;
+        _lastReadId = lastReadId;
     }
     
     @Override
     protected String getSuffix() {
         
         return String.format(
-                "event-log-reads?query={context[\"*Timeslot:%%20%s%%3B*\"]}&fields=id,event-type,creation-time,action,description",
-                _timeslotId);
+                "event-log-reads?query={context[\"*Timeslot:%%20%s%%3B*\"]%s}&fields=id,event-type,creation-time,action,description",
+                _timeslotId,
+                _lastReadId < 0 ? "" : String.format(";id[%%3E%d]", _lastReadId));
     }
-}
\ No newline at end of file
+}
@@ -40,10 +40,26 @@ import java.util.Map;
  * 
  */
 public class GetLabRunEntityTestSetRunsRequest extends GetRequest {
+
+    public static final int DEFAULT_PAGE_SIZE = 2000;
+
+    private final int _startIndex;
+    private final int _pageSize;
     
     public GetLabRunEntityTestSetRunsRequest(Client client, String runId) {
         
+        this(client, runId, 1, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param startIndex 1-based index of the first test instance run of the page
+     * @param pageSize   maximum number of test instance runs in the page
+     */
+    public GetLabRunEntityTestSetRunsRequest(Client client, String runId, int startIndex, int pageSize) {
+
         super(client, runId);
+        _startIndex = startIndex;
+        _pageSize = pageSize;
     }
     
     @Override
@@ -54,7 +70,7 @@ public class GetLabRunEntityTestSetRunsRequest extends GetRequest {
     @Override
     protected String getQueryString() {
         
-        return String.format("query={procedure-run[%s]}&page-size=2000", _runId);
+        return String.format("query={procedure-run[%s]}&page-size=%d&start-index=%d", _runId, _pageSize, _startIndex);
     }
 
     @Override
@@ -28,10 +28,19 @@
 
 package com.microfocus.application.automation.tools.sv.runner;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.microfocus.application.automation.tools.sv.model.AbstractSvRunModel;
 import com.microfocus.application.automation.tools.model.SvServerSettingsModel;
@@ -42,24 +51,29 @@ import com.microfocus.sv.svconfigurator.core.IService;
 import com.microfocus.sv.svconfigurator.core.impl.exception.CommandExecutorException;
 import com.microfocus.sv.svconfigurator.core.impl.exception.CommunicatorException;
 import com.microfocus.sv.svconfigurator.core.impl.exception.ProjectBuilderException;
-import com.microfocus.sv.svconfigurator.core.impl.jaxb.atom.ServiceListAtom;
 import com.microfocus.sv.svconfigurator.serverclient.ICommandExecutor;
 import com.microfocus.sv.svconfigurator.serverclient.impl.CommandExecutorFactory;
 import hudson.FilePath;
 import hudson.model.TaskListener;
 import jenkins.security.MasterToSlaveCallable;
+import org.apache.commons.lang.StringUtils;
 
 public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> extends MasterToSlaveCallable<String, Exception> {
+    private static final Logger LOG = Logger.getLogger(AbstractSvRemoteRunner.class.getName());
+    private static final int DEFAULT_MAX_CONCURRENT_OPERATIONS = 8;
+
     protected T model;
     protected FilePath workspace;
     protected TaskListener listener;
     protected SvServerSettingsModel server;
+    private final int maxConcurrentOperations;
 
     public AbstractSvRemoteRunner(TaskListener listener, T model, FilePath workspace, SvServerSettingsModel server) {
         this.listener = listener;
         this.model = model;
         this.workspace = workspace;
         this.server = server;
+        this.maxConcurrentOperations = getMaxConcurrentOperations();
     }
 
     protected List<ServiceInfo> getServiceList(boolean ignoreMissingServices, PrintStream logger, FilePath workspace) throws Exception {
@@ -74,13 +88,14 @@ public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> exten
                 break;
             case PROJECT:
                 IProject project = loadProject(workspace);
+                ServiceIndex index = ServiceIndex.load(exec);
                 for (IService svc : project.getServices()) {
-                    addServiceIfDeployed(svc.getId(), res, ignoreMissingServices, exec, logger);
+                    addServiceIfDeployed(svc.getId(), res, ignoreMissingServices, index, logger);
                 }
                 break;
             case ALL_DEPLOYED:
-                for (ServiceListAtom.ServiceEntry entry : exec.getServiceList(null).getEntries()) {
-                    res.add(new ServiceInfo(entry.getId(), entry.getTitle()));
+                for (ServiceInfo service : ServiceIndex.load(exec).getServices()) {
+                    res.add(service);
                 }
                 break;
             case DEPLOY:
@@ -114,8 +129,101 @@ public abstract class AbstractSvRemoteRunner<T extends AbstractSvRunModel> exten
         }
     }
 
+    private void addServiceIfDeployed(String service, ArrayList<ServiceInfo> results, boolean ignoreMissingServices,
+                                      ServiceIndex index, PrintStream logger) throws CommunicatorException, CommandExecutorException {
+        try {
+            results.add(index.find(service));
+        } catch (CommandExecutorException e) {
+            if (!ignoreMissingServices) {
+                throw e;
+            }
+            logger.printf("Service '%s' is not deployed, ignoring%n", service);
+        }
+    }
+
     protected ICommandExecutor createCommandExecutor() throws Exception {
         return new CommandExecutorFactory()
                 .createCommandExecutor(server.getUrlObject(), server.isTrustEveryone(), server.getCredentials());
     }
+
+    /**
+     * Applies the operation to all services, up to {@code AbstractSvRemoteRunner.MaxConcurrentOperations} of them
+     * at once. Every worker uses its own command executor and the output of each service is printed as one block
+     * once the service is done. All services are processed even if some of them fail.
+     *
+     * @throws Exception if operation failed for any service
+     */
+    protected void processServices(List<ServiceInfo> services, ServiceOperation operation, PrintStream logger) throws Exception {
+        if (services.isEmpty()) {
+            return;
+        }
+
+        Queue<ICommandExecutor> idleExecutors = new ConcurrentLinkedQueue<>();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(services.size(), maxConcurrentOperations)));
+        try {
+            List<Future<?>> results = new ArrayList<>(services.size());
+            for (ServiceInfo service : services) {
+                results.add(workers.submit(() -> {
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    PrintStream serviceLogger = new PrintStream(output, true);
+                    ICommandExecutor exec = idleExecutors.poll();
+                    try {
+                        if (exec == null) {
+                            exec = createCommandExecutor();
+                        }
+                        operation.process(service, exec, serviceLogger);
+                        return null;
+                    } finally {
+                        if (exec != null) {
+                            idleExecutors.add(exec);
+                        }
+                        synchronized (logger) {
+                            logger.print(output.toString());
+                        }
+                    }
+                }));
+            }
+
+            List<String> failures = new ArrayList<>();
+            Throwable firstFailure = null;
+            for (int i = 0; i < services.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    ServiceInfo service = services.get(i);
+                    Throwable cause = e.getCause();
+                    LOG.log(Level.SEVERE, String.format("Failed to process service '%s' [%s]", service.getName(), service.getId()), cause);
+                    failures.add(String.format("'%s' [%s]: %s", service.getName(), service.getId(), cause.getMessage()));
+                    if (firstFailure == null) {
+                        firstFailure = cause;
+                    }
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                if (services.size() == 1 && firstFailure instanceof Exception) {
+                    throw (Exception) firstFailure;
+                }
+                logger.printf("  Failed to process %d of %d services:%n", failures.size(), services.size());
+                for (String failure : failures) {
+                    logger.println("    " + failure);
+                }
+                throw new Exception(String.format("Failed to process %d of %d services", failures.size(), services.size()));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static int getMaxConcurrentOperations() {
+        String value = System.getProperty("AbstractSvRemoteRunner.MaxConcurrentOperations"); // let's us config the number of services processed in parallel. default is 8.
+        if (StringUtils.isNotBlank(value)) {
+            return Integer.parseInt(value);
+        }
+        return DEFAULT_MAX_CONCURRENT_OPERATIONS;
+    }
+
+    protected interface ServiceOperation {
+        void process(ServiceInfo service, ICommandExecutor exec, PrintStream logger) throws Exception;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.sv.runner;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.microfocus.sv.svconfigurator.core.IService;
+import com.microfocus.sv.svconfigurator.core.impl.exception.CommandExecutorException;
+import com.microfocus.sv.svconfigurator.core.impl.exception.CommunicatorException;
+import com.microfocus.sv.svconfigurator.core.impl.jaxb.atom.ServiceListAtom;
+import com.microfocus.sv.svconfigurator.serverclient.ICommandExecutor;
+
+/**
+ * Services deployed on SV server, listed once and indexed by id and name.
+ * Lookups that can not be answered unambiguously from the list fall back to the server.
+ */
+public class ServiceIndex {
+    private final ICommandExecutor exec;
+    private final Map<String, ServiceInfo> byId = new LinkedHashMap<>();
+    private final Map<String, ServiceInfo> byName = new HashMap<>();
+
+    private ServiceIndex(ICommandExecutor exec) {
+        this.exec = exec;
+    }
+
+    public static ServiceIndex load(ICommandExecutor exec) throws CommunicatorException, CommandExecutorException {
+        ServiceIndex index = new ServiceIndex(exec);
+        Set<String> ambiguousNames = new HashSet<>();
+        for (ServiceListAtom.ServiceEntry entry : exec.getServiceList(null).getEntries()) {
+            ServiceInfo service = new ServiceInfo(entry.getId(), entry.getTitle());
+            index.byId.put(service.getId(), service);
+            if (service.getName() != null && index.byName.put(service.getName(), service) != null) {
+                ambiguousNames.add(service.getName());
+            }
+        }
+        index.byName.keySet().removeAll(ambiguousNames);
+        return index;
+    }
+
+    public Iterable<ServiceInfo> getServices() {
+        return byId.values();
+    }
+
+    /**
+     * @param idOrName id or name of service
+     * @return deployed service
+     * @throws CommandExecutorException if the service is not deployed
+     */
+    public ServiceInfo find(String idOrName) throws CommunicatorException, CommandExecutorException {
+        ServiceInfo service = byId.get(idOrName);
+        if (service == null) {
+            service = byName.get(idOrName);
+        }
+        if (service == null) {
+            // not in the list or name is not unique, let server resolve it and report the problem
+            IService svc = exec.findService(idOrName, null);
+            service = new ServiceInfo(svc.getId(), svc.getName());
+        }
+        return service;
+    }
+}
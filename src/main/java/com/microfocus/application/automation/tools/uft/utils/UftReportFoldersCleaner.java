@@ -0,0 +1,161 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.uft.utils;
+
+import hudson.Util;
+import jenkins.security.MasterToSlaveCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Deletes report folders of the build tests on the node that runs them, in one remote call:
+ * test paths are resolved, mtbx files are expanded to their tests and report folders are deleted in parallel on the node.
+ */
+public class UftReportFoldersCleaner extends MasterToSlaveCallable<UftReportFoldersCleaner.Summary, IOException> {
+    private static final int MAX_DELETE_THREADS = 4;
+    private static final String REPORT_FOLDER_TAG = "Report";
+    private static final String MTBX_EXTENSION = ".mtbx";
+
+    private final List<String> testPaths;
+
+    /**
+     * @param testPaths test paths as configured in build (a test, a folder of tests, a list of tests, mtbx file or mtbx content)
+     */
+    public UftReportFoldersCleaner(List<String> testPaths) {
+        this.testPaths = new ArrayList<>(testPaths);
+    }
+
+    @Override
+    public Summary call() throws IOException {
+        Set<String> tests = new LinkedHashSet<>();
+        for (String testPath : testPaths) {
+            String rawTestString = testPath.replace("\\", "/").trim();
+            tests.addAll(getMtbxTests(new File(rawTestString)));
+            for (String test : UftToolUtils.getTests(rawTestString)) {
+                tests.add(test);
+                tests.addAll(getMtbxTests(new File(test)));
+            }
+        }
+
+        List<File> reportFolders = new ArrayList<>();
+        for (String test : tests) {
+            File[] entries = new File(test).listFiles();
+            if (entries != null) {
+                for (File entry : entries) {
+                    if (entry.getName().contains(REPORT_FOLDER_TAG)) {
+                        reportFolders.add(entry);
+                    }
+                }
+            }
+        }
+
+        return new Summary(tests.size(), reportFolders.size(), deleteAll(reportFolders));
+    }
+
+    private static List<String> getMtbxTests(File file) throws IOException {
+        if (!file.isFile() || !file.getName().toLowerCase(Locale.ROOT).endsWith(MTBX_EXTENSION)) {
+            return new ArrayList<>();
+        }
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        return UftToolUtils.extractTestPathsFromMtbxContent(content);
+    }
+
+    private static List<String> deleteAll(List<File> reportFolders) {
+        List<String> failures = new ArrayList<>();
+        if (reportFolders.isEmpty()) {
+            return failures;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(reportFolders.size(), MAX_DELETE_THREADS));
+        try {
+            List<Future<?>> deletions = new ArrayList<>();
+            for (File reportFolder : reportFolders) {
+                deletions.add(executor.submit(() -> {
+                    Util.deleteRecursive(reportFolder);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < deletions.size(); i++) {
+                try {
+                    deletions.get(i).get();
+                } catch (ExecutionException e) {
+                    failures.add(reportFolders.get(i).getPath() + " : " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.add(reportFolders.get(i).getPath() + " : interrupted");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+
+    /**
+     * Result of the cleanup, returned from the node
+     */
+    public static class Summary implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int testCount;
+        private final int reportFolderCount;
+        private final List<String> failures;
+
+        Summary(int testCount, int reportFolderCount, List<String> failures) {
+            this.testCount = testCount;
+            this.reportFolderCount = reportFolderCount;
+            this.failures = failures;
+        }
+
+        public int getTestCount() {
+            return testCount;
+        }
+
+        public int getDeletedCount() {
+            return reportFolderCount - failures.size();
+        }
+
+        public List<String> getFailures() {
+            return failures;
+        }
+    }
+}
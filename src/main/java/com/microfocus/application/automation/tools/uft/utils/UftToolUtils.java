@@ -32,6 +32,7 @@ import com.microfocus.application.automation.tools.results.projectparser.perform
 import com.microfocus.application.automation.tools.uft.model.RerunSettingsModel;
 import hudson.FilePath;
 import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
 import hudson.util.FormValidation;
 import jenkins.model.Jenkins;
 import org.apache.commons.lang.StringUtils;
@@ -102,7 +103,7 @@ public class UftToolUtils {
         return buildTests;
     }
 
-    private static List<String> getTests(String rawTestString) {
+    static List<String> getTests(String rawTestString) {
         List<String> buildTests = new ArrayList<>();
         if (isMtbxContent(rawTestString)) {//mtbx content in the test path
             buildTests = extractTestPathsFromMtbxContent(rawTestString);
@@ -164,23 +165,22 @@ public class UftToolUtils {
         return tests;
     }
 
-    public static void deleteReportFoldersFromNode(String nodeName, String testPath){
-         FilePath filePath = getFilePath(nodeName, testPath);
-            try {
-                List<FilePath> entries = filePath.list();
-                for (FilePath entry : entries) {
-                    if (entry.getName().contains("Report")) {
-                        entry.deleteContents();
-                        entry.delete();
-                    }
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-
+    /**
+     * Deletes report folders of the build tests on the node that runs them
+     *
+     * @param nodeName  the node that runs the tests
+     * @param testPaths test paths as configured in build
+     * @return summary of the cleanup, null if the node is offline
+     */
+    public static UftReportFoldersCleaner.Summary deleteReportFoldersFromNode(String nodeName, List<String> testPaths) throws IOException, InterruptedException {
+        UftReportFoldersCleaner cleaner = new UftReportFoldersCleaner(testPaths);
+        Node node = Jenkins.get().getNode(nodeName);
+        if (Jenkins.get().getNodes().isEmpty() || (node == null)) {//tests are running on master
+            return cleaner.call();
+        }
 
+        VirtualChannel channel = node.getChannel();
+        return channel != null ? channel.call(cleaner) : null;
     }
 
     public static FilePath getFilePath(String nodeName, String testPath){
@@ -0,0 +1,76 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptivePollerTest {
+
+    @Test
+    public void testSteadyStateSlowsDownUpToMaxInterval() {
+        try (AdaptivePoller poller = new AdaptivePoller(1000, 4000)) {
+            Assert.assertEquals(1000, poller.onSuccess(true));
+            Assert.assertEquals(1500, poller.onSuccess(false));
+            Assert.assertEquals(2250, poller.onSuccess(false));
+            Assert.assertEquals(3375, poller.onSuccess(false));
+            Assert.assertEquals(4000, poller.onSuccess(false));
+            Assert.assertEquals(4000, poller.onSuccess(false));
+            Assert.assertEquals(1000, poller.onSuccess(true));
+        }
+    }
+
+    @Test
+    public void testFailuresBackOffWithJitter() {
+        try (AdaptivePoller poller = new AdaptivePoller(1000, 8000)) {
+            long first = poller.onFailure();
+            Assert.assertTrue(first >= 500 && first <= 1000);
+            long second = poller.onFailure();
+            Assert.assertTrue(second >= 1000 && second <= 2000);
+            poller.onFailure();
+            poller.onFailure();
+            long capped = poller.onFailure();
+            Assert.assertTrue(capped >= 4000 && capped <= 8000);
+            Assert.assertEquals(5, poller.getConsecutiveFailures());
+            poller.onSuccess(false);
+            Assert.assertEquals(0, poller.getConsecutiveFailures());
+        }
+    }
+
+    @Test
+    public void testActivePollersAreCounted() {
+        int before = AdaptivePoller.getActivePollers();
+        AdaptivePoller poller = new AdaptivePoller(10);
+        Assert.assertEquals(before + 1, AdaptivePoller.getActivePollers());
+        poller.close();
+        poller.close();
+        Assert.assertEquals(before, AdaptivePoller.getActivePollers());
+    }
+}
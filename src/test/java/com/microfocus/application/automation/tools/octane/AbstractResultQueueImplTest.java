@@ -0,0 +1,203 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.octane;
+
+import com.squareup.tape.FileObjectQueue;
+import org.apache.commons.lang.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class AbstractResultQueueImplTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        File queueFile = tmp.newFile();
+        queueFile.delete();
+
+        TestQueue queue = new TestQueue(queueFile, 3, false);
+        queue.add("instance-1", "folder/job", 12, "1002");
+        queue.add("plain-job", 7);
+        queue.close();
+
+        queue = new TestQueue(queueFile, 3, false);
+        ResultQueue.QueueItem item = queue.peekFirst();
+        assertEquals("instance-1", item.getInstanceId());
+        assertEquals("folder/job", item.getProjectName());
+        assertEquals(12, item.getBuildNumber());
+        assertEquals("1002", item.getWorkspace());
+        assertNull(item.getType());
+        assertEquals(0, item.getFailCount());
+        assertTrue(item.getEnqueuedAt() > 0);
+        queue.remove();
+
+        item = queue.peekFirst();
+        assertEquals("plain-job", item.getProjectName());
+        assertEquals(7, item.getBuildNumber());
+        assertNull(item.getInstanceId());
+        assertNull(item.getWorkspace());
+        assertNull(item.getType());
+        queue.remove();
+
+        assertNull(queue.peekFirst());
+        assertEquals(2, queue.getProcessedCount());
+        queue.close();
+    }
+
+    @Test
+    public void testReadsRecordsWrittenInJsonFormat() throws IOException {
+        File queueFile = tmp.newFile();
+        queueFile.delete();
+
+        FileObjectQueue<String> legacyQueue = new FileObjectQueue<>(queueFile, new FileObjectQueue.Converter<String>() {
+            @Override
+            public String from(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public void toStream(String json, OutputStream bytes) throws IOException {
+                bytes.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        legacyQueue.add("{\"project\":\"job\",\"build\":5,\"count\":2,\"workspace\":\"1001\",\"instanceId\":\"instance-1\"}");
+        legacyQueue.add("{\"project\":\"other\",\"build\":6,\"count\":0,\"type\":\"coverage\"}");
+        legacyQueue.close();
+
+        TestQueue queue = new TestQueue(queueFile, 3, false);
+        ResultQueue.QueueItem item = queue.peekFirst();
+        assertEquals("job", item.getProjectName());
+        assertEquals(5, item.getBuildNumber());
+        assertEquals(2, item.getFailCount());
+        assertEquals("1001", item.getWorkspace());
+        assertEquals("instance-1", item.getInstanceId());
+        queue.remove();
+
+        item = queue.peekFirst();
+        assertEquals("other", item.getProjectName());
+        assertEquals(6, item.getBuildNumber());
+        assertEquals("coverage", item.getType());
+        assertNull(item.getWorkspace());
+        assertNull(item.getInstanceId());
+        queue.remove();
+
+        //new items are written in binary format next to the legacy ones
+        queue.add("job", 8);
+        queue.close();
+        queue = new TestQueue(queueFile, 3, false);
+        assertEquals(8, queue.peekFirst().getBuildNumber());
+        queue.close();
+    }
+
+    @Test
+    public void testQueueFileIsCompactedWhenDrained() throws IOException {
+        File queueFile = tmp.newFile();
+        queueFile.delete();
+
+        TestQueue queue = new TestQueue(queueFile, 3, false);
+        String longName = StringUtils.repeat("x", 30000);
+        for (int i = 0; i < 40; i++) {
+            queue.add(longName, i);
+        }
+        assertTrue(queueFile.length() > 1024 * 1024);
+
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, queue.peekFirst().getBuildNumber());
+            queue.remove();
+        }
+        assertTrue(queueFile.length() < 1024 * 1024);
+
+        queue.add("job", 1);
+        assertEquals("job", queue.peekFirst().getProjectName());
+        queue.close();
+    }
+
+    @Test
+    public void testFailedItemIsDelayed() throws IOException {
+        File queueFile = tmp.newFile();
+        queueFile.delete();
+
+        TestQueue queue = new TestQueue(queueFile, 1, false);
+        queue.add("first", 1);
+        queue.add("second", 2);
+
+        assertEquals("first", queue.peekFirst().getProjectName());
+        assertTrue(queue.failed());
+        assertEquals("second", queue.peekFirst().getProjectName());
+        queue.remove();
+        assertNull(queue.peekFirst());
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.getRetriedCount());
+        assertEquals(1, queue.getProcessedCount());
+        queue.close();
+    }
+
+    @Test
+    public void testFailedItemKeepsOrderInOrderedQueue() throws IOException {
+        File queueFile = tmp.newFile();
+        queueFile.delete();
+
+        TestQueue queue = new TestQueue(queueFile, 1, true);
+        queue.add("first", 1);
+        queue.add("second", 2);
+        queue.add("third", 3);
+
+        ResultQueue.QueueItem item = queue.peekFirst();
+        assertEquals("first", item.getProjectName());
+        assertTrue(queue.failed());
+        assertNull(queue.peekFirst());
+        assertEquals(3, queue.size());
+        queue.close();
+
+        //delay of the head item is persisted, items behind it still wait after restart
+        queue = new TestQueue(queueFile, 1, true);
+        assertNull(queue.peekFirst());
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.getProcessedCount());
+        queue.close();
+    }
+
+    private static class TestQueue extends AbstractResultQueueImpl {
+        private TestQueue(File queueFile, int maxRetries, boolean keepOrder) throws IOException {
+            super(maxRetries, keepOrder);
+            init(queueFile);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+package com.microfocus.application.automation.tools.octane.actions;
+
+import hudson.FilePath;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReportFilesTransferTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void testTransferSkipsFilesWithSameContent() throws Exception {
+        File workspace = tmp.newFolder("workspace");
+        FileUtils.writeStringToFile(new File(workspace, "a/report.xml"), "<first/>", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(workspace, "b/report.xml"), "<second/>", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(workspace, "c/report.xml"), "<first/>", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(workspace, "d/empty.xml"), "", StandardCharsets.UTF_8);
+
+        Map<String, String> accepted = new LinkedHashMap<>();
+        Map<String, String> duplicates = new LinkedHashMap<>();
+        ReportFilesTransfer.transfer(new FilePath(workspace), new String[]{"a/report.xml", "b/report.xml", "c/report.xml", "d/empty.xml"},
+                new ReportFilesTransfer.FileConsumer() {
+                    @Override
+                    public void accept(String relativePath, InputStream content) throws IOException {
+                        accepted.put(relativePath, IOUtils.toString(content, StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public void duplicate(String relativePath, String originalRelativePath) {
+                        duplicates.put(relativePath, originalRelativePath);
+                    }
+                });
+
+        assertEquals(3, accepted.size());
+        assertEquals("<first/>", accepted.get("a/report.xml"));
+        assertEquals("<second/>", accepted.get("b/report.xml"));
+        assertEquals("", accepted.get("d/empty.xml"));
+        assertEquals(1, duplicates.size());
+        assertEquals("a/report.xml", duplicates.get("c/report.xml"));
+    }
+
+    @Test
+    public void testTransferReportsFailureOfSender() throws Exception {
+        File workspace = tmp.newFolder("workspace");
+        FileUtils.writeStringToFile(new File(workspace, "a/report.xml"), "<first/>", StandardCharsets.UTF_8);
+
+        List<String> accepted = new ArrayList<>();
+        try {
+            ReportFilesTransfer.transfer(new FilePath(workspace), new String[]{"a/report.xml", "missing/report.xml"},
+                    (relativePath, content) -> accepted.add(relativePath));
+            fail("transfer of missing file should fail");
+        } catch (IOException e) {
+            assertTrue(ExceptionUtils.indexOfType(e, NoSuchFileException.class) >= 0);
+            assertEquals(1, e.getSuppressed().length);
+            assertTrue(e.getSuppressed()[0] instanceof EOFException);
+        }
+        assertEquals(Collections.singletonList("a/report.xml"), accepted);
+    }
+}
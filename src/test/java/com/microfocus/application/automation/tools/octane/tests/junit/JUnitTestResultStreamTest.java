@@ -0,0 +1,88 @@
+/*
+ * Certain versions of software and/or documents ("Material") accessible here may contain branding from
+ * Hewlett-Packard Company (now HP Inc.) and Hewlett Packard Enterprise Company.  As of September 1, 2017,
+ * the Material is now offered by Micro Focus, a separately owned and operated company.  Any reference to the HP
+ * and Hewlett Packard Enterprise/HPE marks is historical in nature, and the HP and Hewlett Packard Enterprise/HPE
+ * marks are the property of their respective owners.
+ * __________________________________________________________________
+ * MIT License
+ *
+ * (c) Copyright 2012-2021 Micro Focus or one of its affiliates.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * ___________________________________________________________________
+ */
+
+
+package com.microfocus.application.automation.tools.octane.tests.junit;
+
+import com.hp.octane.integrations.testresults.XmlWritableTestResult;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class JUnitTestResultStreamTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JUnitTestResult passed = new JUnitTestResult("module", "com.acme", "AppTest", "testOk",
+                TestResultStatus.PASSED, 12, 1000, null, null, "first\nsecond");
+        JUnitTestResult failed = new JUnitTestResult(null, "", "AppTest", "testFail",
+                TestResultStatus.FAILED, 3, 2000, new TestError("stack ש", "java.lang.AssertionError", null),
+                "http://host/report", null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JUnitTestResultStream.Writer writer = new JUnitTestResultStream.Writer(out)) {
+            writer.write(passed);
+            writer.write(failed);
+        }
+
+        List<JUnitTestResult> results = new ArrayList<>();
+        JUnitTestResultStream.Reader reader = new JUnitTestResultStream.Reader(new ByteArrayInputStream(out.toByteArray()));
+        while (reader.hasNext()) {
+            XmlWritableTestResult next = reader.next();
+            results.add((JUnitTestResult) next);
+        }
+        assertFalse(reader.hasNext());
+        assertEquals(2, results.size());
+
+        JUnitTestResult first = results.get(0);
+        assertEquals("module", first.getModuleName());
+        assertEquals("com.acme", first.getPackageName());
+        assertEquals("testOk", first.getTestName());
+        assertEquals(TestResultStatus.PASSED, first.getResult());
+        assertEquals(12, first.getDuration());
+        assertEquals(1000, first.getStarted());
+        assertEquals("first\nsecond", first.getDescription());
+        assertNull(first.getTestError());
+
+        JUnitTestResult second = results.get(1);
+        assertNull(second.getModuleName());
+        assertEquals("", second.getPackageName());
+        assertEquals(TestResultStatus.FAILED, second.getResult());
+        assertEquals("http://host/report", second.getExternalReportUrl());
+        assertEquals("stack ש", second.getTestError().getStackTraceStr());
+        assertEquals("java.lang.AssertionError", second.getTestError().getErrorType());
+        assertNull(second.getTestError().getErrorMsg());
+    }
+}
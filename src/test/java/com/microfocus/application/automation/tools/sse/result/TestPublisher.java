@@ -31,6 +31,8 @@ package com.microfocus.application.automation.tools.sse.result;
 import java.net.HttpURLConnection;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.microfocus.application.automation.tools.sse.common.TestCase;
 import com.microfocus.application.automation.tools.sse.result.model.junit.JUnitTestCaseStatus;
@@ -109,6 +111,21 @@ public class TestPublisher extends TestCase {
         Assert.assertNotNull(testsuites);
     }
 
+    @Test
+    public void testPagedPublish() {
+
+        Client client = new PagedMockClient(URL, DOMAIN, PROJECT, USER, 5, 2);
+        Testsuites testsuites = publish(client);
+
+        Assert.assertNotNull(testsuites);
+        int testcases = 0;
+        for (Testsuite testsuite : testsuites.getTestsuite()) {
+            testcases += testsuite.getTestcase().size();
+        }
+        Assert.assertEquals(5, testcases);
+        Assert.assertEquals(3, ((PagedMockClient) client).requests);
+    }
+
     private boolean containsStatus(List<Testsuite> testsuites, String status) {
 
         boolean ret = false;
@@ -153,4 +170,45 @@ public class TestPublisher extends TestCase {
             return new Response(null, _bytes, null, HttpURLConnection.HTTP_OK);
         }
     }
+
+    private class PagedMockClient extends RestClient4Test {
+
+        private final int _total;
+        private final int _pageSize;
+        private int requests;
+
+        public PagedMockClient(String url, String domain, String project, String username, int total, int pageSize) {
+
+            super(url, domain, project, username);
+            _total = total;
+            _pageSize = pageSize;
+        }
+
+        @Override
+        public Response httpGet(
+                String url,
+                String queryString,
+                Map<String, String> headers,
+                ResourceAccessLevel resourceAccessLevel) {
+
+            if (!url.endsWith("procedure-testset-instance-runs")) {
+                return new Response(null, new byte[0], null, HttpURLConnection.HTTP_OK);
+            }
+            requests++;
+            int startIndex = 1;
+            Matcher matcher = Pattern.compile("start-index=(\\d+)").matcher(queryString);
+            if (matcher.find()) {
+                startIndex = Integer.parseInt(matcher.group(1));
+            }
+            StringBuilder xml = new StringBuilder(String.format("<Entities TotalResults=\"%d\">", _total));
+            for (int i = startIndex; i < startIndex + _pageSize && i <= _total; i++) {
+                xml.append(String.format(
+                        "<Entity Type=\"procedure-testset-instance-run\"><Fields><Field Name=\"id\"><Value>%d</Value></Field><Field Name=\"test-config-name\"><Value>test %d</Value></Field><Field Name=\"testcycl-id\"><Value>%d</Value></Field><Field Name=\"status\"><Value>Passed</Value></Field></Fields><RelatedEntities/></Entity>",
+                        i, i, i % 2));
+            }
+            xml.append("</Entities>");
+
+            return new Response(null, xml.toString().getBytes(), null, HttpURLConnection.HTTP_OK);
+        }
+    }
 }
@@ -29,6 +29,8 @@
 package com.microfocus.application.automation.tools.sse.sdk;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import com.microfocus.application.automation.tools.sse.common.TestCase;
@@ -78,6 +80,42 @@ public class TestEventLogHandler extends TestCase {
         Assert.assertFalse(isOk);
     }
     
+    @Test
+    public void testLogRequestsOnlyNewEvents() {
+        
+        MockRestClientIncremental client = new MockRestClientIncremental(URL, DOMAIN, PROJECT, USER);
+        EventLogHandler eventLogHandler = new EventLogHandler(client, TIMESLOT_ID);
+        Assert.assertTrue(eventLogHandler.log(new ConsoleLogger()));
+        Assert.assertTrue(eventLogHandler.log(new ConsoleLogger()));
+        Assert.assertEquals(_expectedEventLogUrl, client._urls.get(0));
+        Assert.assertTrue(client._urls.get(1).contains(";id[%3E1801]}"));
+    }
+    
+    private class MockRestClientIncremental extends RestClient4Test {
+        
+        private final List<String> _urls = new ArrayList<String>();
+        
+        public MockRestClientIncremental(String url, String domain, String project, String username) {
+            
+            super(url, domain, project, username);
+        }
+        
+        @Override
+        public Response httpGet(
+                String url,
+                String queryString,
+                Map<String, String> headers,
+                ResourceAccessLevel resourceAccessLevel) {
+            
+            _urls.add(url);
+            return new Response(
+                    null,
+                    "<Entities TotalResults=\"2\"><Entity Type=\"event-log-read\"><Fields><Field Name=\"id\"><Value>1800</Value></Field><Field Name=\"description\"><Value>first</Value></Field><Field Name=\"creation-time\"><Value>2013-02-07 10:17:26</Value></Field></Fields></Entity><Entity Type=\"event-log-read\"><Fields><Field Name=\"id\"><Value>1801</Value></Field><Field Name=\"description\"><Value>second</Value></Field><Field Name=\"creation-time\"><Value>2013-02-07 10:17:27</Value></Field></Fields></Entity></Entities>".getBytes(),
+                    null,
+                    HttpURLConnection.HTTP_OK);
+        }
+    }
+    
     private class MockRestClient extends RestClient4Test {
         
         public MockRestClient(String url, String domain, String project, String username) {